@@ -0,0 +1,183 @@
+package io.github.ScaelBlu;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for every public operation of {@link BioUtils}. The sequence states are parameterized by the input
+ * size in bytes, the FASTA state by the number of records. The largest sizes need a big heap, hence the forked JVM flags.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class BioUtilsBenchmark {
+
+    private static final long SEED = 20250501L;
+
+    @State(Scope.Benchmark)
+    public static class DnaInput {
+
+        @Param({"1024", "1048576", "1073741824"})
+        public int size;
+
+        byte[] dna;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            dna = SyntheticData.dna(size, SEED);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RnaInput {
+
+        @Param({"1024", "1048576", "1073741824"})
+        public int size;
+
+        byte[] rna;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            rna = SyntheticData.rna(size, SEED);
+        }
+    }
+
+    /**
+     * Two-line inputs (strand pairs and sequence-motif pairs). The size is the total size, so each line gets half of it.
+     */
+    @State(Scope.Benchmark)
+    public static class PairedInput {
+
+        @Param({"1024", "1048576", "1073741824"})
+        public int size;
+
+        @Param({"ATAT", "GATTACA"})
+        public String motif;
+
+        byte[] strands;
+
+        byte[] sequenceAndMotif;
+
+        String sequence;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            final byte[] first = SyntheticData.dna(size / 2 - 1, SEED);
+            strands = SyntheticData.lines(first, SyntheticData.dna(size / 2 - 1, SEED + 1));
+            sequenceAndMotif = SyntheticData.lines(first, motif.getBytes());
+            sequence = new String(first);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FastaInput {
+
+        @Param({"10", "1000", "1000000"})
+        public int records;
+
+        @Param({"1000"})
+        public int recordLength;
+
+        byte[] fasta;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fasta = SyntheticData.fasta(records, recordLength, SEED);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CodeTypeInput {
+
+        @Param({"UNIVERSAL", "MITOCHONDRIAL", "SECIS"})
+        public GeneticCodeType codeType;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PopulationInput {
+
+        @Param({"10", "40", "80"})
+        public int months;
+
+        @Param({"1", "5"})
+        public int reproductionRate;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PhenotypeInput {
+
+        @Param({"10", "1000", "1000000"})
+        public long individuals;
+    }
+
+    @Benchmark
+    public String countDnaNucleotides(DnaInput input) {
+        return BioUtils.countDnaNucleotides(SyntheticData.reader(input.dna));
+    }
+
+    @Benchmark
+    public String transcribeDnaToRna(DnaInput input) {
+        return BioUtils.transcribeDnaToRna(SyntheticData.reader(input.dna));
+    }
+
+    @Benchmark
+    public String reverseComplementerOf(DnaInput input) {
+        return BioUtils.reverseComplementerOf(SyntheticData.reader(input.dna));
+    }
+
+    @Benchmark
+    public String findHighestGcContent(FastaInput input) throws IOException {
+        return BioUtils.findHighestGcContent(SyntheticData.reader(input.fasta));
+    }
+
+    @Benchmark
+    public long countPointMutations(PairedInput input) throws IOException {
+        return BioUtils.countPointMutations(SyntheticData.reader(input.strands));
+    }
+
+    @Benchmark
+    public String mRnaTranslator(RnaInput input) {
+        return BioUtils.mRnaTranslator(SyntheticData.reader(input.rna),
+                OpenReadingFrame.FIRST, GeneticCodeType.UNIVERSAL, false);
+    }
+
+    @Benchmark
+    public List<Integer> findAllMotifs(PairedInput input) {
+        return BioUtils.findAllMotifs(input.sequence, input.motif);
+    }
+
+    @Benchmark
+    public List<Integer> findAllMotifsFromReader(PairedInput input) throws IOException {
+        return BioUtils.findAllMotifs(SyntheticData.reader(input.sequenceAndMotif));
+    }
+
+    @Benchmark
+    public String createConsensusSequence(FastaInput input) throws IOException {
+        return BioUtils.createConsensusSequence(SyntheticData.reader(input.fasta));
+    }
+
+    @Benchmark
+    @Fork(1)
+    public Map<String, TranslationUnit> getCodonTable(CodeTypeInput input) {
+        return BioUtils.getCodonTable(input.codeType);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public long calculatePopulationAfterMonths(PopulationInput input) {
+        return BioUtils.calculatePopulationAfterMonths(input.months, input.reproductionRate);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public BigDecimal calculateDominantPhenotypeProbability(PhenotypeInput input) {
+        return BioUtils.calculateDominantPhenotypeProbability(input.individuals, input.individuals, input.individuals, 5);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.ScaelBlu;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for every public operation of {@link MathUtils}. The size of the base set grows by orders of
+ * magnitude, the selection size is the half of it which is the most expensive case of the binomial coefficient.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MathUtilsBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int n;
+
+    private int k;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        k = n / 2;
+    }
+
+    @Benchmark
+    public BigInteger factorial() {
+        return MathUtils.factorial(n);
+    }
+
+    @Benchmark
+    public BigInteger variation() {
+        return MathUtils.variation(n, k);
+    }
+
+    @Benchmark
+    public BigInteger combination() {
+        return MathUtils.combination(n, k);
+    }
+
+    @Benchmark
+    public BigInteger repeatedVariation() {
+        return MathUtils.repeatedVariation(4, n);
+    }
+
+    @Benchmark
+    public BigInteger repeatedCombination() {
+        return MathUtils.repeatedCombination(n, k);
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.ScaelBlu;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible benchmark inputs. Every method is seeded, so the same parameters always produce the same bytes
+ * and the results of different runs (or different machines) stay comparable.
+ */
+final class SyntheticData {
+
+    private static final byte[] DNA = {'A', 'C', 'G', 'T'};
+
+    private static final byte[] RNA = {'A', 'C', 'G', 'U'};
+
+    private static final String HEADER_PREFIX = ">Synthetic_";
+
+    private static final int FASTA_LINE_LENGTH = 60;
+
+    private static final int READER_BUFFER_SIZE = 1 << 16;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Generates a single-line DNA sequence without line terminator.
+     * @param length the number of bases.
+     * @param seed the seed of the random generator.
+     * @return the ASCII bytes of the sequence.
+     */
+    static byte[] dna(int length, long seed) {
+        return sequence(DNA, length, seed);
+    }
+
+    /**
+     * Generates a single-line mRNA sequence without line terminator.
+     * @param length the number of bases.
+     * @param seed the seed of the random generator.
+     * @return the ASCII bytes of the sequence.
+     */
+    static byte[] rna(int length, long seed) {
+        return sequence(RNA, length, seed);
+    }
+
+    /**
+     * Joins the given parts into one input with a line feed after each part. It is used to build the two-line inputs of
+     * the Hamming distance and the motif finder.
+     * @param parts the lines of the input.
+     * @return the ASCII bytes of the input.
+     */
+    static byte[] lines(byte[]... parts) {
+        long size = 0;
+        for (byte[] part : parts) {
+            size += part.length + 1;
+        }
+        final byte[] input = new byte[Math.toIntExact(size)];
+        int position = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, input, position, part.length);
+            position += part.length;
+            input[position++] = '\n';
+        }
+        return input;
+    }
+
+    /**
+     * Generates a FASTA file with same length DNA records wrapped to 60 columns.
+     * @param records the number of records.
+     * @param recordLength the number of bases in each record.
+     * @param seed the seed of the random generator.
+     * @return the ASCII bytes of the FASTA file.
+     */
+    static byte[] fasta(int records, int recordLength, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final int lineCount = (recordLength + FASTA_LINE_LENGTH - 1) / FASTA_LINE_LENGTH;
+        final int width = String.valueOf(records).length();
+        final String header = "%s%0" + width + "d\n";
+        final int headerLength = HEADER_PREFIX.length() + width + 1;
+        final byte[] fasta = new byte[Math.toIntExact((long) records * (headerLength + recordLength + lineCount))];
+        int position = 0;
+        for (int r = 0; r < records; r++) {
+            final byte[] label = header.formatted(HEADER_PREFIX, r).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(label, 0, fasta, position, label.length);
+            position += label.length;
+            for (int i = 0; i < recordLength; i++) {
+                fasta[position++] = DNA[random.nextInt(DNA.length)];
+                if ((i + 1) % FASTA_LINE_LENGTH == 0 || i == recordLength - 1) {
+                    fasta[position++] = '\n';
+                }
+            }
+        }
+        return fasta;
+    }
+
+    /**
+     * Opens a fresh reader over the given input, the way the tests read the Rosalind files.
+     * @param input the bytes of the input.
+     * @return a buffered reader.
+     */
+    static BufferedReader reader(byte[] input) {
+        return new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.US_ASCII), READER_BUFFER_SIZE);
+    }
+
+    private static byte[] sequence(byte[] alphabet, int length, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final byte[] sequence = new byte[length];
+        for (int i = 0; i < length; i++) {
+            sequence[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return sequence;
+    }
+}
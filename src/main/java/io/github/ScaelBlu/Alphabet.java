@@ -0,0 +1,130 @@
+package io.github.ScaelBlu;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * The constants of this enum describe the symbol sets of sequences. Every alphabet is compiled into 256-entry lookup
+ * tables indexed by the (byte or char) value of a symbol, so validation, case-folding, complementing and 2-bit encoding
+ * all cost one array access, without boxing and without upper-casing the input first.
+ */
+public enum Alphabet {
+
+    DNA("nucleotide", "ACGT", "TGCA"),
+    RNA("nucleotide", "ACGU", "UGCA"),
+    /**
+     * DNA with the IUPAC ambiguity codes. Only the four unambiguous bases have a 2-bit code.
+     */
+    IUPAC_DNA("nucleotide", "ACGTRYSWKMBDHVN", "TGCAYRSWMKVHDBN"),
+    /**
+     * The one-letter amino acid codes including selenocysteine (U), pyrrolysine (O) and the stop symbol (*).
+     */
+    PROTEIN("amino acid", "ACDEFGHIKLMNPQRSTVWYUO*", null);
+
+    private static final int TABLE_SIZE = 256;
+
+    private static final byte INVALID = 0;
+
+    @Getter
+    private final String symbolName;
+
+    @Getter
+    private final String symbols;
+
+    private final byte[] folded = new byte[TABLE_SIZE];
+
+    private final byte[] complements = new byte[TABLE_SIZE];
+
+    private final byte[] codes = new byte[TABLE_SIZE];
+
+    Alphabet(String symbolName, String symbols, String complements) {
+        this.symbolName = symbolName;
+        this.symbols = symbols;
+        Arrays.fill(codes, (byte) -1);
+        for (int i = 0; i < symbols.length(); i++) {
+            final char upper = symbols.charAt(i);
+            final char lower = Character.toLowerCase(upper);
+            folded[upper] = (byte) upper;
+            folded[lower] = (byte) upper;
+            if (complements != null) {
+                this.complements[upper] = (byte) complements.charAt(i);
+                this.complements[lower] = (byte) complements.charAt(i);
+                if (i < 4) {
+                    codes[upper] = (byte) i;
+                    codes[lower] = (byte) i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks a symbol in either case.
+     * @param symbol the symbol.
+     * @return true if the symbol belongs to the alphabet.
+     */
+    public boolean isValid(int symbol) {
+        return (symbol & ~0xFF) == 0 && folded[symbol] != INVALID;
+    }
+
+    /**
+     * Converts a symbol to its upper-case form.
+     * @param symbol the symbol in either case.
+     * @return the upper-case symbol, or zero if the symbol is invalid.
+     */
+    public byte fold(int symbol) {
+        return (symbol & ~0xFF) == 0 ? folded[symbol] : INVALID;
+    }
+
+    /**
+     * Finds the complement of a nucleotide.
+     * @param symbol the nucleotide in either case.
+     * @return the upper-case complement, or zero if the symbol is invalid or the alphabet has no complements.
+     */
+    public byte complement(int symbol) {
+        return (symbol & ~0xFF) == 0 ? complements[symbol] : INVALID;
+    }
+
+    /**
+     * Encodes an unambiguous nucleotide into two bits in alphabetical order (A=0, C=1, G=2, T/U=3), so the complement of
+     * a code is 3 minus the code.
+     * @param symbol the nucleotide in either case.
+     * @return the code, or -1 if the symbol has no code.
+     */
+    public int encode(int symbol) {
+        return (symbol & ~0xFF) == 0 ? codes[symbol] : -1;
+    }
+
+    /**
+     * Decodes a 2-bit code.
+     * @param code the code between 0 and 3.
+     * @return the upper-case nucleotide.
+     */
+    public char decode(int code) {
+        return symbols.charAt(code);
+    }
+
+    /**
+     * Validates every symbol of a sequence.
+     * @param sequence the sequence to check.
+     * @param offset the absolute position of the first symbol, used in the error message.
+     * @throws IllegalArgumentException at the first invalid symbol.
+     */
+    public void validate(CharSequence sequence, long offset) {
+        for (int i = 0; i < sequence.length(); i++) {
+            if (!isValid(sequence.charAt(i))) {
+                throw invalidSymbol(sequence.charAt(i), offset + i);
+            }
+        }
+    }
+
+    /**
+     * Creates the exception reporting an invalid symbol.
+     * @param symbol the invalid symbol.
+     * @param position the absolute (zero-based) position of the symbol.
+     * @return the exception to throw.
+     */
+    public IllegalArgumentException invalidSymbol(int symbol, long position) {
+        return new IllegalArgumentException("Invalid %s: %s at pos: %d".formatted(symbolName, (char) symbol, position));
+    }
+}
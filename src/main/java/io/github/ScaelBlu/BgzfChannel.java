@@ -0,0 +1,215 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a BGZF file. BGZF is a series of independent gzip members (blocks) of at most 64 KiB, each carrying its own
+ * compressed size in a {@code BC} extra subfield. The blocks are read sequentially by the caller, inflated in parallel
+ * by the executor, and handed out strictly in the file order. At most {@code window} blocks are in flight, which bounds
+ * the memory use to a few MiB independently of the file size.
+ */
+class BgzfChannel implements ReadableByteChannel {
+
+    private static final int FIXED_HEADER_SIZE = 12;
+
+    private static final int TRAILER_SIZE = 8;
+
+    private static final int FLAG_EXTRA = 4;
+
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final FileChannel file;
+
+    private final ExecutorService executor;
+
+    private final int window;
+
+    private final Queue<Future<ByteBuffer>> pending = new ArrayDeque<>();
+
+    private final ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private ByteBuffer current = ByteBuffer.allocate(0);
+
+    private long position;
+
+    private boolean endOfFile;
+
+    BgzfChannel(FileChannel file, ExecutorService executor, int window) {
+        this.file = file;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+    }
+
+    /**
+     * Checks whether a gzip header has a BGZF extra subfield.
+     * @param header the first bytes of a gzip member in little-endian order.
+     * @return true if the member is a BGZF block.
+     */
+    static boolean isBgzfHeader(ByteBuffer header) {
+        return header.limit() >= 18
+                && (header.get(3) & FLAG_EXTRA) != 0
+                && header.getShort(10) == 6
+                && header.get(12) == 'B'
+                && header.get(13) == 'C'
+                && header.getShort(14) == 2;
+    }
+
+    @Override
+    public int read(ByteBuffer target) throws IOException {
+        while (!current.hasRemaining()) {
+            submitBlocks();
+            final Future<ByteBuffer> next = pending.poll();
+            if (next == null) {
+                return -1;
+            }
+            current = await(next);
+        }
+        final int count = Math.min(current.remaining(), target.remaining());
+        target.put(target.position(), current, current.position(), count);
+        target.position(target.position() + count);
+        current.position(current.position() + count);
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return file.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        pending.forEach(future -> future.cancel(false));
+        pending.clear();
+        file.close();
+    }
+
+    /**
+     * Fills the window with inflating blocks.
+     */
+    private void submitBlocks() throws IOException {
+        while (!endOfFile && pending.size() < window) {
+            final byte[] block = readBlock();
+            if (block == null) {
+                endOfFile = true;
+            } else {
+                pending.add(executor.submit(() -> inflate(block)));
+            }
+        }
+    }
+
+    /**
+     * Reads the next complete block from the file.
+     * @return the bytes of the block, or null at the end of the file.
+     */
+    private byte[] readBlock() throws IOException {
+        header.clear();
+        readFully(header, position);
+        if (header.position() == 0) {
+            return null;
+        }
+        if (header.hasRemaining() || header.get(0) != (byte) 0x1f || header.get(1) != (byte) 0x8b
+                || (header.get(3) & FLAG_EXTRA) == 0) {
+            throw new IOException("Invalid BGZF block at offset %d".formatted(position));
+        }
+        final int extraLength = Short.toUnsignedInt(header.getShort(10));
+        final ByteBuffer extra = ByteBuffer.allocate(extraLength).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(extra, position + FIXED_HEADER_SIZE);
+        int blockSize = -1;
+        for (int i = 0; i + 4 <= extraLength; ) {
+            final int subfieldLength = Short.toUnsignedInt(extra.getShort(i + 2));
+            if (i + 4 + subfieldLength > extraLength) {
+                throw new IOException("BGZF extra subfield of %d bytes exceeds the extra field at offset %d"
+                        .formatted(subfieldLength, position));
+            }
+            if (extra.get(i) == 'B' && extra.get(i + 1) == 'C' && subfieldLength == 2 && i + 6 <= extraLength) {
+                blockSize = Short.toUnsignedInt(extra.getShort(i + 4)) + 1;
+            }
+            i += 4 + subfieldLength;
+        }
+        if (blockSize < FIXED_HEADER_SIZE + extraLength + TRAILER_SIZE) {
+            throw new IOException("Missing BGZF block size at offset %d".formatted(position));
+        }
+        final ByteBuffer block = ByteBuffer.allocate(blockSize);
+        readFully(block, position);
+        if (block.hasRemaining()) {
+            throw new IOException("Truncated BGZF block at offset %d".formatted(position));
+        }
+        position += blockSize;
+        return block.array();
+    }
+
+    private void readFully(ByteBuffer target, long offset) throws IOException {
+        while (target.hasRemaining()) {
+            if (file.read(target, offset + target.position()) == -1) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inflates the deflate payload of a block and checks it against the CRC and size of the trailer.
+     * @param block the complete block.
+     * @return the uncompressed content.
+     */
+    private static ByteBuffer inflate(byte[] block) throws IOException {
+        final ByteBuffer trailer = ByteBuffer.wrap(block, block.length - TRAILER_SIZE, TRAILER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        final int crc = trailer.getInt();
+        final int size = trailer.getInt();
+        final byte[] content = new byte[size];
+        if (size == 0) {
+            return ByteBuffer.wrap(content);
+        }
+        final int payloadStart = FIXED_HEADER_SIZE + Short.toUnsignedInt((short) (block[10] & 0xFF | block[11] << 8));
+        final Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(block, payloadStart, block.length - TRAILER_SIZE - payloadStart);
+        try {
+            int inflated = 0;
+            while (inflated < size && !inflater.finished()) {
+                final int count = inflater.inflate(content, inflated, size - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != size) {
+                throw new IOException("Corrupt BGZF block: size mismatch");
+            }
+        } catch (DataFormatException dfe) {
+            throw new IOException("Corrupt BGZF block", dfe);
+        }
+        final CRC32 checksum = new CRC32();
+        checksum.update(content);
+        if ((int) checksum.getValue() != crc) {
+            throw new IOException("Corrupt BGZF block: CRC mismatch");
+        }
+        return ByteBuffer.wrap(content);
+    }
+
+    private static ByteBuffer await(Future<ByteBuffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while inflating a BGZF block", ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Failed to inflate a BGZF block", ee.getCause());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.ScaelBlu;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Serves the {@link BioUtils} operations over HTTP, so many short invocations share one warmed-up JVM. Every request is
+ * handled on its own virtual thread, and the request body is passed to the operation as a stream, so a payload is never
+ * buffered as a whole. The number of requests processed at the same time is limited; the requests above the limit are
+ * rejected with 503 instead of queueing up.
+ * <p>
+ * The operations are called with POST and answer in plain text, in the same format as the {@link BioUtils} methods:
+ * <ul>
+ *     <li>{@code /count}, {@code /transcribe}, {@code /reverse-complement}: a DNA sequence.</li>
+ *     <li>{@code /gc}, {@code /consensus}: FASTA (or FASTQ) records.</li>
+ *     <li>{@code /hamming}: two strands in separate lines.</li>
+ *     <li>{@code /translate?frame=FIRST&code=UNIVERSAL&terminateAtStop=false}: an mRNA sequence.</li>
+ *     <li>{@code /motifs?motif=ATAT}: a sequence; without the parameter the body holds the sequence and the motif in
+ *     separate lines.</li>
+ * </ul>
+ * {@code GET /metrics} returns the dump of the {@link MetricsRegistry}.
+ * <p>
+ * Before JDK 24 the request streams of the JDK server pin the carrier of a virtual thread while they wait for data (they
+ * read in synchronized methods), so clients sending their bodies slowly can occupy all carriers. Such deployments can
+ * raise {@code jdk.virtualThreadScheduler.parallelism} or pass a platform-thread executor to
+ * {@link #start(InetSocketAddress, int, ExecutorService)}.
+ */
+public final class BioServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final int maxConcurrentRequests;
+
+    private final Semaphore permits;
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+    /**
+     * An operation served under a path.
+     */
+    @FunctionalInterface
+    private interface Operation {
+
+        /**
+         * Runs the operation.
+         * @param body the request body.
+         * @param parameters the decoded query parameters.
+         * @return the response text.
+         * @throws IOException if an I/O error occurs.
+         */
+        String apply(InputStream body, Map<String, String> parameters) throws IOException;
+    }
+
+    private BioServer(HttpServer server, int maxConcurrentRequests, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        operations.put("/count", (body, _) -> BioUtils.countDnaNucleotides(reader(body)));
+        operations.put("/transcribe", (body, _) -> BioUtils.transcribeDnaToRna(reader(body)));
+        operations.put("/reverse-complement", (body, _) -> BioUtils.reverseComplementerOf(reader(body)));
+        operations.put("/gc", (body, _) -> BioUtils.findHighestGcContent(Channels.newChannel(body)));
+        operations.put("/hamming", (body, _) -> String.valueOf(BioUtils.countPointMutations(reader(body))));
+        operations.put("/translate", (body, parameters) -> BioUtils.mRnaTranslator(reader(body),
+                OpenReadingFrame.valueOf(parameters.getOrDefault("frame", OpenReadingFrame.FIRST.name())),
+                GeneticCodeType.valueOf(parameters.getOrDefault("code", GeneticCodeType.UNIVERSAL.name())),
+                Boolean.parseBoolean(parameters.get("terminateAtStop"))));
+        operations.put("/motifs", this::findMotifs);
+        operations.put("/consensus", (body, _) -> BioUtils.createConsensusSequence(Channels.newChannel(body)));
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts a server handling every request on a new virtual thread.
+     * @param address the address to listen on. Port 0 picks a free port.
+     * @param maxConcurrentRequests the number of requests processed at the same time.
+     * @return the running server.
+     * @throws IOException if the server can not be bound to the address.
+     */
+    public static BioServer start(InetSocketAddress address, int maxConcurrentRequests) throws IOException {
+        return start(address, maxConcurrentRequests, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Starts a server.
+     * @param address the address to listen on. Port 0 picks a free port.
+     * @param maxConcurrentRequests the number of requests processed at the same time.
+     * @param executor the executor handling the requests. It is closed with the server.
+     * @return the running server.
+     * @throws IOException if the server can not be bound to the address.
+     */
+    public static BioServer start(InetSocketAddress address, int maxConcurrentRequests, ExecutorService executor)
+            throws IOException {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive.");
+        }
+        final BioServer bioServer = new BioServer(HttpServer.create(address, 0), maxConcurrentRequests, executor);
+        bioServer.server.start();
+        return bioServer;
+    }
+
+    /**
+     * Starts a server on all interfaces.
+     * @param args the port (8080 by default) and the concurrency limit (four times the processors by default).
+     * @throws IOException if the server can not be bound to the port.
+     */
+    public static void main(String[] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        final int limit = args.length > 1 ? Integer.parseInt(args[1]) : 4 * Runtime.getRuntime().availableProcessors();
+        final BioServer bioServer = start(new InetSocketAddress(port), limit);
+        System.out.printf("Listening on port %d with at most %d concurrent requests%n", bioServer.getPort(), limit);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of requests being processed.
+     * @return the number of requests holding a permit.
+     */
+    public int getActiveRequests() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    /**
+     * Stops accepting requests, waits shortly for the running ones, then stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final MetricsRegistry registry = MetricsRegistry.global();
+        registry.counter("server.requests").increment();
+        try (exchange) {
+            final String path = exchange.getRequestURI().getPath();
+            final boolean metrics = path.equals("/metrics");
+            final Operation operation = operations.get(path);
+            if (!metrics && operation == null) {
+                respond(exchange, 404, "Unknown operation: %s".formatted(path));
+            } else if (!exchange.getRequestMethod().equals(metrics ? "GET" : "POST")) {
+                exchange.getResponseHeaders().set("Allow", metrics ? "GET" : "POST");
+                respond(exchange, 405, "Method not allowed: %s".formatted(exchange.getRequestMethod()));
+            } else if (metrics) {
+                respond(exchange, 200, registry.dump());
+            } else if (!permits.tryAcquire()) {
+                registry.counter("server.rejected").increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 503, "Too many concurrent requests.");
+            } else {
+                try {
+                    final String result = operation.apply(exchange.getRequestBody(),
+                            parseQuery(exchange.getRequestURI().getRawQuery()));
+                    respond(exchange, 200, result);
+                } catch (IllegalArgumentException e) {
+                    registry.counter("server.badRequests").increment();
+                    respond(exchange, 400, String.valueOf(e.getMessage()));
+                } catch (RuntimeException e) {
+                    registry.counter("server.errors").increment();
+                    respond(exchange, 500, "Operation failed: %s".formatted(e));
+                } finally {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the motifs given as a parameter by streaming the body through a {@link SequencePipeline}, or falls back to
+     * the two-line format of {@link BioUtils#findAllMotifs(BufferedReader)}. The stages of the pipeline run on their own
+     * virtual threads, never on the request executor: a request waiting for its pipeline would otherwise hold a worker of
+     * a bounded pool while its stages wait for the other workers.
+     */
+    private String findMotifs(InputStream body, Map<String, String> parameters) throws IOException {
+        final String motif = parameters.get("motif");
+        if (motif == null) {
+            return BioUtils.findAllMotifs(reader(body)).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(" "));
+        }
+        try (ExecutorService stages = Executors.newVirtualThreadPerTaskExecutor()) {
+            final long[] positions = SequencePipeline.of(Channels.newChannel(body), stages,
+                    SequencePipeline.DEFAULT_CHUNK_SIZE, SequencePipeline.DEFAULT_BUFFER_CAPACITY)
+                    .findMotif(motif)
+                    .join();
+            return LongStream.of(positions).mapToObj(String::valueOf).collect(Collectors.joining(" "));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IllegalArgumentException iae) {
+                throw iae;
+            }
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw e;
+        }
+    }
+
+    private static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.ISO_8859_1));
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        final Map<String, String> parameters = new HashMap<>();
+        if (query != null && !query.isEmpty()) {
+            for (String parameter : query.split("&")) {
+                final int separator = parameter.indexOf('=');
+                final String name = separator < 0 ? parameter : parameter.substring(0, separator);
+                final String value = separator < 0 ? "" : parameter.substring(separator + 1);
+                parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                        URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -2,10 +2,11 @@ package io.github.ScaelBlu;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.lang.foreign.MemorySegment;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 public class BioUtils {
@@ -14,6 +15,12 @@ public class BioUtils {
 
     public static final Set<Character> D_RIBONUCLEOTIDES = Set.of('T', 'A', 'G', 'C');
 
+    /**
+     * The order in which the nucleotide codes are compared in a consensus motif: on equal counts the first one wins. It
+     * follows the former iteration order of the position matrix, so the returned motifs did not change.
+     */
+    private static final int[] CONSENSUS_TIE_ORDER = {0, 1, 3, 2};
+
     //Exercise 1: Counting DNA Nucleotides
     /**
      * Counts each nucleotide in the given DNA.
@@ -21,34 +28,86 @@ public class BioUtils {
      * @return a string with the count of A, C, G, and T respectively.
      */
     public static String countDnaNucleotides(BufferedReader dna) {
-        final Map<Character, Long> nucleotides = dna.lines()
-                .flatMap(line -> line.strip().toUpperCase().chars()
-                        .filter(n -> {
-                            if (!D_RIBONUCLEOTIDES.contains((char) n)) {
-                                throw new IllegalArgumentException("Invalid nucleotide: ".concat(String.valueOf((char) n)));
-                            }
-                            return true;
-                        })
-                        .mapToObj(i -> (char) i))
-                .collect(Collectors.groupingBy(c -> c, Collectors.counting()));
-
-        return String.join(" ",
-                nucleotides.get('A').toString(),
-                nucleotides.get('C').toString(),
-                nucleotides.get('G').toString(),
-                nucleotides.get('T').toString());
+        final OperationProbe probe = OperationProbe.start("countDnaNucleotides");
+        try {
+            final long[] counts = new long[4];
+            final long[] position = {0};
+            dna.lines().forEach(line -> {
+                probe.read(line);
+                final String nucleotides = line.strip();
+                for (int i = 0; i < nucleotides.length(); i++) {
+                    final int code = Alphabet.DNA.encode(nucleotides.charAt(i));
+                    if (code < 0) {
+                        probe.invalidSymbol();
+                        throw Alphabet.DNA.invalidSymbol(nucleotides.charAt(i), position[0] + i);
+                    }
+                    counts[code]++;
+                }
+                position[0] += nucleotides.length();
+            });
+            probe.record();
+            probe.bases(position[0]);
+
+            return "%d %d %d %d".formatted(counts[0], counts[1], counts[2], counts[3]);
+        } finally {
+            probe.finish();
+        }
+    }
+
+    /**
+     * Counts each nucleotide in the given DNA slice without copying it to the heap.
+     * @param dna a DNA slice, for example a record of a {@link SequenceStore}.
+     * @return a string with the count of A, C, G, and T respectively.
+     */
+    public static String countDnaNucleotides(SequenceSlice dna) {
+        final OperationProbe probe = OperationProbe.start("countDnaNucleotides");
+        try {
+            final long[] counts = new long[4];
+            for (long i = 0; i < dna.length(); i++) {
+                final int code = Alphabet.DNA.encode(dna.byteAt(i));
+                if (code < 0) {
+                    probe.invalidSymbol();
+                    throw Alphabet.DNA.invalidSymbol(dna.byteAt(i), i);
+                }
+                counts[code]++;
+            }
+            probe.record();
+            probe.bases(dna.length());
+            return "%d %d %d %d".formatted(counts[0], counts[1], counts[2], counts[3]);
+        } finally {
+            probe.finish();
+        }
     }
 
     //Exercise 2: Transcribing DNA into RNA
     /**
      * Transcribes the given DNA sense strand into RNA (not a real transcription!).
      * @param dna a DNA string reader.
-     * @return a transcribed RNA (changed T -> U).
+     * @return a transcribed RNA (changed T -> U) in upper case.
+     * @throws IllegalArgumentException if the DNA contains an invalid nucleotide.
      */
     public static String transcribeDnaToRna(BufferedReader dna) {
-        return dna.lines()
-                .map(line -> line.strip().toUpperCase().replace('T', 'U'))
-                .collect(Collectors.joining());
+        final OperationProbe probe = OperationProbe.start("transcribeDnaToRna");
+        try {
+            final StringBuilder rna = new StringBuilder();
+            dna.lines().forEach(line -> {
+                probe.read(line);
+                final String nucleotides = line.strip();
+                for (int i = 0; i < nucleotides.length(); i++) {
+                    final byte nucleotide = Alphabet.DNA.fold(nucleotides.charAt(i));
+                    if (nucleotide == 0) {
+                        probe.invalidSymbol();
+                        throw Alphabet.DNA.invalidSymbol(nucleotides.charAt(i), rna.length());
+                    }
+                    rna.append(nucleotide == 'T' ? 'U' : (char) nucleotide);
+                }
+            });
+            probe.record();
+            probe.bases(rna.length());
+            return rna.toString();
+        } finally {
+            probe.finish();
+        }
     }
 
     //Exercise 3: Complementing a Strand of DNA
@@ -58,25 +117,27 @@ public class BioUtils {
      * @return the reverse complementer DNA strand.
      */
     public static String reverseComplementerOf(BufferedReader dna) {
-        return dna.lines()
-                .flatMap(line -> line.strip().toUpperCase().chars()
-                        .mapToObj(c -> (char) c))
-                .map(n ->
-                            switch (n) {
-                                case 'A' -> 'T';
-                                case 'C' -> 'G';
-                                case 'G' -> 'C';
-                                case 'T' -> 'A';
-                                default ->
-                                        throw new IllegalArgumentException("Invalid nucleotide: ".concat(String.valueOf(n)));
-                })
-                .collect(Collector.of(
-                        StringBuilder::new,
-                        StringBuilder::append,
-                        StringBuilder::append,
-                        StringBuilder::reverse
-                ))
-                .toString();
+        final OperationProbe probe = OperationProbe.start("reverseComplementerOf");
+        try {
+            final StringBuilder complementer = new StringBuilder();
+            dna.lines().forEach(line -> {
+                probe.read(line);
+                final String nucleotides = line.strip();
+                for (int i = 0; i < nucleotides.length(); i++) {
+                    final byte complement = Alphabet.DNA.complement(nucleotides.charAt(i));
+                    if (complement == 0) {
+                        probe.invalidSymbol();
+                        throw Alphabet.DNA.invalidSymbol(nucleotides.charAt(i), complementer.length());
+                    }
+                    complementer.append((char) complement);
+                }
+            });
+            probe.record();
+            probe.bases(complementer.length());
+            return complementer.reverse().toString();
+        } finally {
+            probe.finish();
+        }
     }
 
     //Excercise 4: Rabbits and Recurrence Relations
@@ -107,49 +168,117 @@ public class BioUtils {
      * @throws IOException if an I/O error occurs.
      */
     public static String findHighestGcContent(BufferedReader fasta) throws IOException {
-        String line;
-        String currentLabel = null;
-        StringBuilder currentSequence = new StringBuilder();
-        GcContent highest = new GcContent(null, BigDecimal.ZERO);
-        while ((line = fasta.readLine()) != null) {
-            if (line.startsWith(">")) {
-                if (currentLabel != null) {
-                    highest = compareGcContent(currentLabel, currentSequence, highest);
+        return findHighestGcContent(SequenceReader.of(fasta));
+    }
+
+    /**
+     * Finds the highest GC content among the sequences of the given FASTA input.
+     * @param fasta the channel of the FASTA input. It is not closed by this method.
+     * @return the highest GC percentage with its label
+     * @throws IOException if an I/O error occurs.
+     */
+    public static String findHighestGcContent(ReadableByteChannel fasta) throws IOException {
+        return findHighestGcContent(new SequenceReader(fasta));
+    }
+
+    private static String findHighestGcContent(SequenceReader fasta) throws IOException {
+        final OperationProbe probe = OperationProbe.start("findHighestGcContent");
+        try {
+            GcContent highest = new GcContent(null, 0, 1);
+            while (fasta.next()) {
+                final SequenceRecord record = fasta.getRecord();
+                final ByteSequence sequence = record.getSequence();
+                probe.record();
+                probe.bases(sequence.length());
+                highest = compareGcContent(record, highest);
+            }
+            probe.bytesIn(fasta.getBytesRead());
+            return String.format("%s%n%s", highest.label(), highest.percentage());
+        } finally {
+            probe.finish();
+        }
+    }
+
+    /**
+     * Finds the highest GC content among the records of the given store.
+     * @param store the store of the sequences.
+     * @return the highest GC percentage with its label
+     */
+    public static String findHighestGcContent(SequenceStore store) {
+        final OperationProbe probe = OperationProbe.start("findHighestGcContent");
+        try {
+            GcContent highest = new GcContent(null, 0, 1);
+            for (int record = 0; record < store.getRecordCount(); record++) {
+                final SequenceSlice sequence = store.get(record);
+                long gcCount = 0;
+                for (long i = 0; i < sequence.length(); i++) {
+                    final int nucleotide = sequence.byteAt(i) & 0xDF;
+                    if (nucleotide == 'G' || nucleotide == 'C') {
+                        gcCount++;
+                    }
+                }
+                probe.record();
+                probe.bases(sequence.length());
+                if (sequence.length() > 0 && highest.isLowerThan(gcCount, sequence.length())) {
+                    highest = new GcContent(store.getHeader(record), gcCount, sequence.length());
                 }
-                currentLabel = line.substring(1);
-                currentSequence = new StringBuilder(line);
-            } else {
-                currentSequence.append(line.toUpperCase().strip());
             }
+            return String.format("%s%n%s", highest.label(), highest.percentage());
+        } finally {
+            probe.finish();
         }
-        highest = compareGcContent(currentLabel, currentSequence, highest);
-        return String.format("%s%n%s", highest.label(), highest.percentage());
     }
 
     /**
-     * A container record for the sequence label and its GC percentage.
+     * A container record for the sequence label and its GC content.
      * @param label the label of the sequence.
-     * @param percentage the percentage of the sequence.
+     * @param gcCount the number of G and C nucleotides in the sequence.
+     * @param length the length of the sequence.
      */
-    private record GcContent(String label, BigDecimal percentage) {}
+    record GcContent(String label, long gcCount, long length) {
+
+        /**
+         * Compares the GC ratios without division. The cross products are compared on 128 bits, because they overflow a
+         * long once the records reach a few billion bases.
+         * @param otherGcCount the GC count of the other sequence.
+         * @param otherLength the length of the other sequence.
+         * @return true if the other sequence has higher GC content.
+         */
+        boolean isLowerThan(long otherGcCount, long otherLength) {
+            final long otherHigh = Math.multiplyHigh(otherGcCount, length);
+            final long high = Math.multiplyHigh(gcCount, otherLength);
+            if (otherHigh != high) {
+                return otherHigh > high;
+            }
+            return Long.compareUnsigned(otherGcCount * length, gcCount * otherLength) > 0;
+        }
+
+        BigDecimal percentage() {
+            return new BigDecimal(gcCount)
+                    .multiply(new BigDecimal(100))
+                    .divide(new BigDecimal(length), 6, RoundingMode.HALF_UP);
+        }
+    }
 
     /**
-     * Calculates the GC content of the current sequence and compares it to the highest.
-     * @param currentLabel the label of the current sequence.
-     * @param currentSequence the sequence being processed.
+     * Calculates the GC content of the current record and compares it to the highest. The label is only copied out of the
+     * reusable record if it becomes the highest.
+     * @param current the record being processed.
      * @param highest the record holding the highest GC content found so far.
      * @return the record with higher GC content.
      */
-    private static GcContent compareGcContent(String currentLabel, StringBuilder currentSequence, GcContent highest) {
-        final BigDecimal nucleotideCount = new BigDecimal(currentSequence.length());
-        final long gcCount = currentSequence.chars()
-                .filter(nucleotide -> nucleotide == 'G' || nucleotide == 'C')
-                .count();
-        final BigDecimal currentGcContent = new BigDecimal(gcCount)
-                .multiply(new BigDecimal(100))
-                .divide(nucleotideCount, 6, RoundingMode.HALF_UP);
-        if (currentGcContent.compareTo(highest.percentage()) > 0) {
-            return new GcContent(currentLabel, currentGcContent);
+    private static GcContent compareGcContent(SequenceRecord current, GcContent highest) {
+        final ByteSequence sequence = current.getSequence();
+        final byte[] nucleotides = sequence.array();
+        long gcCount = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            final int nucleotide = nucleotides[i] & 0xDF;
+            if (nucleotide == 'G' || nucleotide == 'C') {
+                gcCount++;
+            }
+        }
+        if (sequence.length() > 0 && highest.isLowerThan(gcCount, sequence.length())) {
+            return new GcContent(current.getHeader().toString(), gcCount, sequence.length());
         }
         return highest;
     }
@@ -162,21 +291,72 @@ public class BioUtils {
      * @throws IOException if an I/O error occurs.
      */
     public static long countPointMutations(BufferedReader strands) throws IOException {
-        long hammingDistance = 0;
-        final char[] firstStrand = strands.readLine().strip().toUpperCase().toCharArray();
-        final char[] secondStrand = strands.readLine().strip().toUpperCase().toCharArray();
-        if (firstStrand.length != secondStrand.length) {
-            throw new IllegalArgumentException("Lengths must be equal.");
+        final OperationProbe probe = OperationProbe.start("countPointMutations");
+        try {
+            long hammingDistance = 0;
+            final String firstLine = strands.readLine();
+            final String secondLine = strands.readLine();
+            if (firstLine == null || secondLine == null) {
+                throw new IllegalArgumentException("Two DNA strands are required.");
+            }
+            probe.read(firstLine);
+            probe.read(secondLine);
+            final String firstStrand = firstLine.strip();
+            final String secondStrand = secondLine.strip();
+            if (firstStrand.length() != secondStrand.length()) {
+                throw new IllegalArgumentException("Lengths must be equal.");
+            }
+            probe.record();
+            probe.record();
+            for (int i = 0; i < firstStrand.length(); i++) {
+                final byte first = Alphabet.DNA.fold(firstStrand.charAt(i));
+                final byte second = Alphabet.DNA.fold(secondStrand.charAt(i));
+                if (first == 0 || second == 0) {
+                    probe.invalidSymbol();
+                    throw Alphabet.DNA.invalidSymbol(first == 0 ? firstStrand.charAt(i) : secondStrand.charAt(i), i);
+                }
+                if (first != second) {
+                    hammingDistance++;
+                }
+            }
+            probe.bases(2L * firstStrand.length());
+            return hammingDistance;
+        } finally {
+            probe.finish();
         }
-        for (int i = 0; i < firstStrand.length; i++) {
-            if (!D_RIBONUCLEOTIDES.contains(firstStrand[i]) || !D_RIBONUCLEOTIDES.contains(secondStrand[i])) {
-                throw new IllegalArgumentException("Invalid nucleotide at pos: %d".formatted(i));
+    }
+
+    /**
+     * Counts the Hamming distance between two DNA slices without copying them to the heap.
+     * @param firstStrand the first DNA strand.
+     * @param secondStrand the second DNA strand.
+     * @return the number of point mutations.
+     */
+    public static long countPointMutations(SequenceSlice firstStrand, SequenceSlice secondStrand) {
+        final OperationProbe probe = OperationProbe.start("countPointMutations");
+        try {
+            if (firstStrand.length() != secondStrand.length()) {
+                throw new IllegalArgumentException("Lengths must be equal.");
             }
-            if (firstStrand[i] != secondStrand[i]) {
-                hammingDistance++;
+            long hammingDistance = 0;
+            for (long i = 0; i < firstStrand.length(); i++) {
+                final byte first = Alphabet.DNA.fold(firstStrand.byteAt(i));
+                final byte second = Alphabet.DNA.fold(secondStrand.byteAt(i));
+                if (first == 0 || second == 0) {
+                    probe.invalidSymbol();
+                    throw Alphabet.DNA.invalidSymbol(first == 0 ? firstStrand.byteAt(i) : secondStrand.byteAt(i), i);
+                }
+                if (first != second) {
+                    hammingDistance++;
+                }
             }
+            probe.record();
+            probe.record();
+            probe.bases(2 * firstStrand.length());
+            return hammingDistance;
+        } finally {
+            probe.finish();
         }
-        return hammingDistance;
     }
 
     //Exercise 7: Mendel's First Law
@@ -225,37 +405,49 @@ public class BioUtils {
      * @param mRna mRna string to translate.
      * @param frame the reading frame of translation. Determines the offset of the codon triplets.
      * @param codeType determines the rules of codon-amino acid assignment.
-     * @param terminateAtStop translation stops at stop codons if true.
+     * @param terminateAtStop the first stop codon ends the protein (without its symbol) if true, otherwise the stop
+     *                        codons are translated to {@code *}.
      * @return a translated protein string.
      */
     public static String mRnaTranslator(BufferedReader mRna, OpenReadingFrame frame,
                                         GeneticCodeType codeType, boolean terminateAtStop) {
-        final Map<String, TranslationUnit> codonTable = getCodonTable(codeType);
-        System.out.println(codonTable);
-        final StringBuffer codonBuilder = new StringBuffer();
-        return mRna.lines()
-                .flatMapToInt(line -> line.strip().toUpperCase().chars())
-                .filter(n -> {
-                    if (!RIBONUCLEOTIDES.contains((char) n)) {
-                        throw new IllegalArgumentException("Invalid nucleotide: %s.".formatted((char) n));
-                    }
-                    return true;
-                })
-                .skip(frame.getOffset())
-                .mapToObj(n -> {
-                    if (codonBuilder.length() < 3) {
+        final OperationProbe probe = OperationProbe.start("mRnaTranslator");
+        try {
+            final Map<String, TranslationUnit> codonTable = getCodonTable(codeType);
+            final StringBuffer codonBuilder = new StringBuffer();
+            final long[] position = {0};
+            final String protein = mRna.lines()
+                    .peek(probe::read)
+                    .flatMapToInt(line -> line.strip().chars())
+                    .map(n -> {
+                        final byte nucleotide = Alphabet.RNA.fold(n);
+                        if (nucleotide == 0) {
+                            probe.invalidSymbol();
+                            throw Alphabet.RNA.invalidSymbol(n, position[0]);
+                        }
+                        position[0]++;
+                        return nucleotide;
+                    })
+                    .skip(frame.getOffset())
+                    .mapToObj(n -> {
                         codonBuilder.append((char) n);
-                        return "";
-                    }
-                    final String codon = codonBuilder.toString();
-                    codonBuilder.setLength(0);
-                    codonBuilder.append((char) n);
-                    return codon;
-                })
-                .filter(s -> !s.isEmpty())
-                .map(codon -> codonTable.get(codon).getSymbol())
-                .takeWhile(symbol -> !terminateAtStop || symbol.equals("*"))
-                .collect(Collectors.joining());
+                        if (codonBuilder.length() < 3) {
+                            return "";
+                        }
+                        final String codon = codonBuilder.toString();
+                        codonBuilder.setLength(0);
+                        return codon;
+                    })
+                    .filter(s -> !s.isEmpty())
+                    .map(codon -> codonTable.get(codon).getSymbol())
+                    .takeWhile(symbol -> !terminateAtStop || !symbol.equals("*"))
+                    .collect(Collectors.joining());
+            probe.record();
+            probe.bases(position[0]);
+            return protein;
+        } finally {
+            probe.finish();
+        }
     }
 
     /**
@@ -284,14 +476,24 @@ public class BioUtils {
      * @return a list with the number (not the index!) of the first character of the found motifs.
      */
     public static List<Integer> findAllMotifs(String dnaSequence, String motif) {
-        final List<Integer> indices = new ArrayList<>();
-        int index = -1;
-        while (index != 0) {
-            index = dnaSequence.indexOf(motif, index);
-            indices.add(++index);
+        if (motif.isEmpty()) {
+            throw new IllegalArgumentException("Empty motif.");
+        }
+        final OperationProbe probe = OperationProbe.start("findAllMotifs");
+        try {
+            final List<Integer> indices = new ArrayList<>();
+            int index = -1;
+            while (index != 0) {
+                index = dnaSequence.indexOf(motif, index);
+                indices.add(++index);
+            }
+            indices.removeLast();
+            probe.record();
+            probe.bases(dnaSequence.length());
+            return indices;
+        } finally {
+            probe.finish();
         }
-        indices.removeLast();
-        return indices;
     }
 
     /**
@@ -303,9 +505,23 @@ public class BioUtils {
     public static List<Integer> findAllMotifs(BufferedReader input) throws IOException {
         final String sequence = input.readLine();
         final String motif = input.readLine();
+        if (sequence == null || motif == null) {
+            throw new IllegalArgumentException("Missing motif line.");
+        }
         return findAllMotifs(sequence, motif);
     }
 
+    /**
+     * Finds all occurrence of the given motif in a DNA slice. The positions are longs, so the slice may be longer than
+     * {@link Integer#MAX_VALUE} bases. The slice is scanned in parallel by {@link MotifScanner}.
+     * @param dnaSequence a DNA slice to examine.
+     * @param motif a DNA motif to find.
+     * @return the numbers (not the indices!) of the first character of the found motifs in ascending order.
+     */
+    public static long[] findAllMotifs(SequenceSlice dnaSequence, String motif) {
+        return MotifScanner.findAllMotifs(dnaSequence, motif);
+    }
+
     //Exercise 10: Consensus and Profile
     /**
      * Generates the consensus sequence based on the same length sequences of a given FASTA file. It creates a position
@@ -316,41 +532,52 @@ public class BioUtils {
      * @throws IOException if an I/O error occurs.
      */
     public static String createConsensusSequence(BufferedReader fasta) throws IOException {
-        final Map<Character, int[]> posMatrix = new HashMap<>();
-        String line;
-        int expectedLength = -1;
-        final StringBuilder sequence = new StringBuilder();
-        while ((line = fasta.readLine()) != null) {
-            if (line.startsWith(">")) {
+        return createConsensusSequence(SequenceReader.of(fasta));
+    }
+
+    /**
+     * Generates the consensus sequence and the position matrix of the same length sequences of the given FASTA input.
+     * @param fasta the channel of the FASTA input with same length DNA sequences. It is not closed by this method.
+     * @return a possible consensus motif and the underlying position matrix.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static String createConsensusSequence(ReadableByteChannel fasta) throws IOException {
+        return createConsensusSequence(new SequenceReader(fasta));
+    }
+
+    private static String createConsensusSequence(SequenceReader fasta) throws IOException {
+        final OperationProbe probe = OperationProbe.start("createConsensusSequence");
+        try {
+            final int[][] posMatrix = new int[4][];
+            int expectedLength = -1;
+            long offset = 0;
+            while (fasta.next()) {
+                final ByteSequence sequence = fasta.getRecord().getSequence();
                 if (!sequence.isEmpty()) {
-                    expectedLength = validateLength(expectedLength, sequence);
-                    processSequence(sequence, posMatrix);
+                    expectedLength = validateLength(expectedLength, sequence.length());
+                    processSequence(sequence, posMatrix, probe, offset);
+                    offset += sequence.length();
                 }
-                sequence.setLength(0);
-            } else {
-                sequence.append(line.strip());
             }
+            probe.bytesIn(fasta.getBytesRead());
+            return processPositionMatrix(posMatrix, expectedLength);
+        } finally {
+            probe.finish();
         }
-        if (!sequence.isEmpty()) {
-            expectedLength = validateLength(expectedLength, sequence);
-            processSequence(sequence, posMatrix);
-        }
-
-        return processPositionMatrix(posMatrix, expectedLength);
     }
 
     /**
      * This method checks the length of a single FASTA sequence and compares it with the expected nucleotide count. The
      * FASTA file must contain same length sequences.
      * @param expectedLength the expected length of the sequences. It is equal to the length of the first sequence.
-     * @param sequence the actual sequence to check.
+     * @param length the length of the actual sequence to check.
      * @return the length of the first sequence to set it in the caller method.
      */
-    private static int validateLength(int expectedLength, StringBuilder sequence) {
+    private static int validateLength(int expectedLength, int length) {
         if (expectedLength == -1) {
-            return sequence.length();
+            return length;
         }
-        if (sequence.length() != expectedLength) {
+        if (length != expectedLength) {
             throw new IllegalArgumentException("Sequence must be the same length.");
         }
         return expectedLength;
@@ -359,16 +586,27 @@ public class BioUtils {
     /**
      * Updates the position matrix by counting the nucleotides in each position.
      * @param sequence the actual DNA sequence to process.
-     * @param posMatrix the position matrix with nucleotide keys to update.
+     * @param posMatrix the position matrix to update. Its rows are indexed by the nucleotide codes of
+     *                  {@link Alphabet#DNA}, and a row is created when its nucleotide first occurs.
+     * @param probe the probe of the running operation.
+     * @param offset the number of bases in the preceding records, so an invalid symbol is reported with its absolute
+     *               position in the input.
      */
-    private static void processSequence(StringBuilder sequence, Map<Character, int[]> posMatrix) {
-        final char[] nucleotides = sequence.toString().toUpperCase().toCharArray();
-        for (int i = 0; i < nucleotides.length; i++) {
-            if (!D_RIBONUCLEOTIDES.contains(nucleotides[i])) {
-                throw new IllegalArgumentException("Invalid nucleotide: %s".formatted(nucleotides[i]));
+    private static void processSequence(ByteSequence sequence, int[][] posMatrix, OperationProbe probe, long offset) {
+        final byte[] nucleotides = sequence.array();
+        final int length = sequence.length();
+        probe.record();
+        probe.bases(length);
+        for (int i = 0; i < length; i++) {
+            final int code = Alphabet.DNA.encode(nucleotides[i]);
+            if (code < 0) {
+                probe.invalidSymbol();
+                throw Alphabet.DNA.invalidSymbol(nucleotides[i], offset + i);
             }
-            int[] positions = posMatrix.computeIfAbsent(nucleotides[i], _ -> new int[nucleotides.length]);
-            positions[i]++;
+            if (posMatrix[code] == null) {
+                posMatrix[code] = new int[length];
+            }
+            posMatrix[code][i]++;
         }
     }
 
@@ -378,18 +616,17 @@ public class BioUtils {
      * @param rowLength the length of a row of the matrix (the count of positions).
      * @return a possible consensus sequence and the underlying position matrix.
      */
-    private static String processPositionMatrix(Map<Character, int[]> matrix, int rowLength) {
+    private static String processPositionMatrix(int[][] matrix, int rowLength) {
         final StringBuilder result = new StringBuilder(createConsensusMotif(matrix, rowLength));
-        matrix.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(nucPositions -> {
-                    result.append(nucPositions.getKey()).append(":");
-                    int[] positions = nucPositions.getValue();
-                    for (int count : positions) {
-                        result.append(" ").append(count);
-                    }
-                    result.append("\n");
-                });
+        for (int code = 0; code < matrix.length; code++) {
+            if (matrix[code] != null) {
+                result.append(Alphabet.DNA.decode(code)).append(":");
+                for (int count : matrix[code]) {
+                    result.append(" ").append(count);
+                }
+                result.append("\n");
+            }
+        }
         return result.toString().strip();
     }
 
@@ -399,17 +636,39 @@ public class BioUtils {
      * @param rowLength the length of a row of the matrix (the count of positions).
      * @return a possible consensus DNA string.
      */
-    private static String createConsensusMotif(Map<Character,int[]> matrix, int rowLength) {
+    private static String createConsensusMotif(int[][] matrix, int rowLength) {
         final StringBuilder consensusMotif = new StringBuilder();
         for (int i=0; i<rowLength; i++) {
-            Map.Entry<Character, int[]> highestOccurrence = null;
-            for (Map.Entry<Character, int[]> e : matrix.entrySet()) {
-                if (highestOccurrence == null || e.getValue()[i] > highestOccurrence.getValue()[i]) {
-                    highestOccurrence = e;
+            int highestOccurrence = -1;
+            for (int code : CONSENSUS_TIE_ORDER) {
+                if (matrix[code] != null
+                        && (highestOccurrence == -1 || matrix[code][i] > matrix[highestOccurrence][i])) {
+                    highestOccurrence = code;
                 }
             }
-            consensusMotif.append(highestOccurrence.getKey());
+            consensusMotif.append(Alphabet.DNA.decode(highestOccurrence));
         }
         return consensusMotif.append("\n").toString();
     }
+
+    //Exercise 11: Locating Restriction Sites
+    /**
+     * Finds every reverse palindrome of length 4 to 12 in the first DNA sequence of a FASTA file.
+     * @param fasta the FASTA file with a DNA sequence.
+     * @return the position and the length of every palindrome in separate lines, ordered by position and length.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static String locateRestrictionSites(BufferedReader fasta) throws IOException {
+        final SequenceReader reader = SequenceReader.of(fasta);
+        if (!reader.next()) {
+            throw new IllegalArgumentException("Missing sequence.");
+        }
+        final ByteSequence sequence = reader.getRecord().getSequence();
+        Alphabet.DNA.validate(sequence, 0);
+        final MemorySegment segment = MemorySegment.ofArray(sequence.array()).asSlice(0, sequence.length());
+        return PalindromeScanner.findReversePalindromes(segment, PalindromeScanner.DEFAULT_MIN_LENGTH,
+                        PalindromeScanner.DEFAULT_MAX_LENGTH, MotifScanner.chunkSizeOf(sequence.length())).stream()
+                .map(site -> site.position() + " " + site.length())
+                .collect(Collectors.joining("\n"));
+    }
 }
@@ -0,0 +1,111 @@
+package io.github.ScaelBlu;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable, reusable sequence of ASCII bytes which can be read as a {@link CharSequence}. The readers fill the same
+ * instance record after record, so the content is only valid until the next record is read. Call {@link #toString()}
+ * to keep a copy.
+ */
+public final class ByteSequence implements CharSequence {
+
+    private byte[] bytes;
+
+    private int length;
+
+    ByteSequence() {
+        this(256);
+    }
+
+    ByteSequence(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    /**
+     * Wraps the given bytes without copying.
+     * @param bytes the ASCII bytes to wrap.
+     * @param length the number of valid bytes.
+     */
+    ByteSequence(byte[] bytes, int length) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (byteAt(index) & 0xFF);
+    }
+
+    /**
+     * Returns the raw byte at the given index.
+     * @param index the index of the byte.
+     * @return the byte.
+     */
+    public byte byteAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return bytes[index];
+    }
+
+    /**
+     * Gives access to the backing array for tight loops. Only the first {@link #length()} bytes are valid, and the array
+     * is reused by the next record.
+     * @return the backing array.
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: [%d, %d)".formatted(start, end));
+        }
+        return new ByteSequence(Arrays.copyOfRange(bytes, start, end), end - start);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    void clear() {
+        length = 0;
+    }
+
+    void append(byte b) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        bytes[length++] = b;
+    }
+
+    void append(byte[] source, int offset, int count) {
+        if (length + count > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+        }
+        System.arraycopy(source, offset, bytes, length, count);
+        length += count;
+    }
+
+    /**
+     * Removes the trailing whitespace (including the carriage return of Windows line endings).
+     */
+    void stripTrailing() {
+        while (length > 0 && bytes[length - 1] <= ' ') {
+            length--;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.ScaelBlu;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * A stage of a {@link SequencePipeline}: it subscribes to the previous stage and publishes its results to the next one.
+ * The items are processed one by one on the executor of the stage, and at most as many items are requested from the
+ * previous stage as the buffer of this stage can hold. If the next stage falls behind, {@link #submit(Object)} blocks
+ * until it catches up, so the demand propagates back to the source and the memory use stays bounded.
+ * <p>
+ * When the next stages cancel their subscriptions, the stage cancels its own as well, so an early result stops the
+ * reading of the input. Every stage occupies a thread of the executor while it works, so a fixed-size executor needs at
+ * least one thread per stage (plus one for the source). A {@link java.util.concurrent.ForkJoinPool} compensates the
+ * blocked threads.
+ * @param <T> the type of the received items.
+ * @param <R> the type of the published items.
+ */
+public abstract class ChunkProcessor<T, R> extends SubmissionPublisher<R> implements Flow.Processor<T, R> {
+
+    private Flow.Subscription subscription;
+
+    private boolean done;
+
+    /**
+     * Creates a stage.
+     * @param executor the executor running the delivery of the published items.
+     * @param bufferCapacity the number of items buffered for the next stage (and requested from the previous one).
+     */
+    protected ChunkProcessor(Executor executor, int bufferCapacity) {
+        super(executor, bufferCapacity);
+    }
+
+    /**
+     * Processes a received item and publishes any number of results with {@link #submit(Object)}.
+     * @param item the received item.
+     */
+    protected abstract void process(T item);
+
+    /**
+     * Publishes the results held back until the end of the input. It is called once, before the stage is closed.
+     */
+    protected void complete() {
+    }
+
+    /**
+     * Completes the stage before the end of the input and cancels the previous stage, so the rest of the input is not
+     * read. It may be called from {@link #process(Object)}.
+     */
+    protected void stop() {
+        done = true;
+        subscription.cancel();
+        close();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(getMaxBufferCapacity());
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        if (!hasSubscribers()) {
+            stop();
+            return;
+        }
+        try {
+            process(item);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        if (!done) {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (!done) {
+            done = true;
+            closeExceptionally(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        try {
+            complete();
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        done = true;
+        close();
+    }
+
+    private void fail(RuntimeException e) {
+        done = true;
+        subscription.cancel();
+        closeExceptionally(e);
+    }
+}
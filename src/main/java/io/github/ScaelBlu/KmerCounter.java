@@ -0,0 +1,404 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Counts the k-mers (substrings of length k) of DNA sequences for k up to 31. Each k-mer is packed into a long with two
+ * bits per base (A=0, C=1, G=2, T=3) and the code is updated by shifting as the window rolls, so a base costs a few
+ * arithmetic operations. Optionally the k-mers are canonicalized: a k-mer and its reverse complement are counted as the
+ * lexicographically smaller one of the two. Windows containing any other symbol (like N) are skipped.
+ * <p>
+ * The bases are collected into batches. A batch is encoded in parallel chunks, and every k-mer is routed to a partition
+ * by its hash. Then every partition is counted into its own {@link LongIntHashMap} by a single thread, so the counting
+ * is free of locks and boxing.
+ */
+public class KmerCounter {
+
+    public static final int MAX_K = 31;
+
+    static final int BATCH_SIZE = 1 << 22;
+
+    private static final byte SEPARATOR = 'N';
+
+    private final int k;
+
+    private final boolean canonical;
+
+    private final int partitions;
+
+    private final LongIntHashMap[] tables;
+
+    private final LongList[][] buckets;
+
+    private final byte[] batch;
+
+    private int batchSize;
+
+    private long totalCount;
+
+    /**
+     * Creates a counter using as many partitions as available processors.
+     * @param k the length of the k-mers, between 1 and 31.
+     * @param canonical counts a k-mer and its reverse complement together if true.
+     */
+    public KmerCounter(int k, boolean canonical) {
+        this(k, canonical, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a counter.
+     * @param k the length of the k-mers, between 1 and 31.
+     * @param canonical counts a k-mer and its reverse complement together if true.
+     * @param threads the number of partitions (and parallel tasks).
+     */
+    public KmerCounter(int k, boolean canonical, int threads) {
+        this(k, canonical, threads, BATCH_SIZE);
+    }
+
+    /**
+     * Creates a counter with the given batch size, so small batches can exercise the overlap between the batches.
+     * @param k the length of the k-mers, between 1 and 31.
+     * @param canonical counts a k-mer and its reverse complement together if true.
+     * @param threads the number of partitions (and parallel tasks).
+     * @param batchSize the number of bases in a batch, at least k.
+     */
+    KmerCounter(int k, boolean canonical, int threads, int batchSize) {
+        if (k < 1 || k > MAX_K) {
+            throw new IllegalArgumentException("K must be between 1 and %d.".formatted(MAX_K));
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive.");
+        }
+        if (batchSize < k) {
+            throw new IllegalArgumentException("Batch size must be at least %d.".formatted(k));
+        }
+        this.k = k;
+        this.canonical = canonical;
+        this.partitions = threads;
+        this.batch = new byte[batchSize];
+        this.tables = new LongIntHashMap[threads];
+        this.buckets = new LongList[threads][threads];
+        for (int p = 0; p < threads; p++) {
+            tables[p] = new LongIntHashMap();
+            for (int t = 0; t < threads; t++) {
+                buckets[t][p] = new LongList(batchSize / threads / threads + 16);
+            }
+        }
+    }
+
+    /**
+     * Counts the k-mers of every record of a FASTA or FASTQ input. K-mers never span two records.
+     * @param input the channel of the input. It is not closed by this method.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void count(ReadableByteChannel input) throws IOException {
+        final SequenceReader reader = new SequenceReader(input);
+        while (reader.next()) {
+            final ByteSequence sequence = reader.getRecord().getSequence();
+            append(sequence.array(), 0, sequence.length());
+            append(SEPARATOR);
+        }
+        flush();
+    }
+
+    /**
+     * Counts the k-mers of a single sequence.
+     * @param sequence the DNA sequence.
+     */
+    public void add(CharSequence sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            append((byte) sequence.charAt(i));
+        }
+        append(SEPARATOR);
+    }
+
+    /**
+     * Returns the count of a k-mer (of its canonical form in canonical mode).
+     * @param kmer the k-mer.
+     * @return the number of occurrences.
+     */
+    public int getCount(CharSequence kmer) {
+        if (kmer.length() != k) {
+            throw new IllegalArgumentException("K-mer length must be %d.".formatted(k));
+        }
+        flush();
+        long forward = 0;
+        for (int i = 0; i < k; i++) {
+            final int code = Alphabet.DNA.encode(kmer.charAt(i));
+            if (code < 0) {
+                throw Alphabet.DNA.invalidSymbol(kmer.charAt(i), i);
+            }
+            forward = forward << 2 | code;
+        }
+        final long key = canonical ? Math.min(forward, reverseComplement(forward, k)) : forward;
+        return tables[partitionOf(key)].get(key);
+    }
+
+    /**
+     * Returns the number of counted k-mer occurrences.
+     * @return the total count.
+     */
+    public long getTotalCount() {
+        flush();
+        return totalCount;
+    }
+
+    /**
+     * Returns the number of different k-mers.
+     * @return the distinct count.
+     */
+    public long getDistinctCount() {
+        flush();
+        long distinct = 0;
+        for (LongIntHashMap table : tables) {
+            distinct += table.size();
+        }
+        return distinct;
+    }
+
+    /**
+     * Creates the k-mer spectrum: the number of distinct k-mers for every multiplicity.
+     * @param maxMultiplicity the last bin of the spectrum, which also collects the higher multiplicities.
+     * @return an array where the element i is the number of k-mers occurring i times.
+     */
+    public long[] spectrum(int maxMultiplicity) {
+        flush();
+        final long[] spectrum = new long[maxMultiplicity + 1];
+        for (LongIntHashMap table : tables) {
+            table.forEach((_, count) -> spectrum[Math.min(count, maxMultiplicity)]++);
+        }
+        return spectrum;
+    }
+
+    /**
+     * Finds the most frequent k-mers. Ties are broken by the k-mer code, so the result is deterministic.
+     * @param n the number of k-mers to return.
+     * @return the k-mers with their counts in descending order of counts.
+     */
+    public List<KmerCount> top(int n) {
+        flush();
+        final TopKmers top = new TopKmers(n);
+        for (LongIntHashMap table : tables) {
+            table.forEach(top::offer);
+        }
+        return top.toList(k);
+    }
+
+    /**
+     * A k-mer with its count.
+     * @param kmer the k-mer.
+     * @param count the number of occurrences.
+     */
+    public record KmerCount(String kmer, int count) {}
+
+    /**
+     * Decodes a packed k-mer.
+     * @param code the 2-bit packed k-mer.
+     * @param k the length of the k-mer.
+     * @return the k-mer string.
+     */
+    public static String decode(long code, int k) {
+        final char[] kmer = new char[k];
+        for (int i = k - 1; i >= 0; i--) {
+            kmer[i] = Alphabet.DNA.decode((int) (code & 3));
+            code >>>= 2;
+        }
+        return new String(kmer);
+    }
+
+    static long reverseComplement(long code, int k) {
+        long reverse = 0;
+        for (int i = 0; i < k; i++) {
+            reverse = reverse << 2 | (3 - (code & 3));
+            code >>>= 2;
+        }
+        return reverse;
+    }
+
+    private int partitionOf(long key) {
+        return (int) ((LongIntHashMap.mix(key) >>> 32) % partitions);
+    }
+
+    private void append(byte base) {
+        batch[batchSize++] = base;
+        if (batchSize == batch.length) {
+            flushAndKeepOverlap();
+        }
+    }
+
+    private void append(byte[] source, int offset, int length) {
+        while (length > 0) {
+            final int count = Math.min(length, batch.length - batchSize);
+            System.arraycopy(source, offset, batch, batchSize, count);
+            batchSize += count;
+            offset += count;
+            length -= count;
+            if (batchSize == batch.length) {
+                flushAndKeepOverlap();
+            }
+        }
+    }
+
+    /**
+     * Counts the full batch and carries its last k-1 bases over, so the k-mers crossing the batch border are counted
+     * exactly once.
+     */
+    private void flushAndKeepOverlap() {
+        flush();
+        System.arraycopy(batch, batch.length - (k - 1), batch, 0, k - 1);
+        batchSize = k - 1;
+    }
+
+    /**
+     * Counts the k-mers of the current batch: the chunks are encoded into partition buckets in parallel, then every
+     * partition is counted by one task.
+     */
+    private void flush() {
+        if (batchSize < k) {
+            batchSize = 0;
+            return;
+        }
+        final int kmers = batchSize - k + 1;
+        final int chunkSize = (kmers + partitions - 1) / partitions;
+        IntStream.range(0, partitions).parallel().forEach(task -> {
+            final int from = Math.min(kmers, task * chunkSize);
+            final int to = Math.min(kmers, from + chunkSize);
+            encodeChunk(from, to, buckets[task]);
+        });
+        for (LongList[] taskBuckets : buckets) {
+            for (LongList bucket : taskBuckets) {
+                totalCount += bucket.size();
+            }
+        }
+        IntStream.range(0, partitions).parallel().forEach(partition -> {
+            final LongIntHashMap table = tables[partition];
+            for (int task = 0; task < partitions; task++) {
+                final LongList bucket = buckets[task][partition];
+                for (int i = 0; i < bucket.size(); i++) {
+                    table.increment(bucket.get(i));
+                }
+                bucket.clear();
+            }
+        });
+        batchSize = 0;
+    }
+
+    /**
+     * Encodes the k-mers starting in the given range of the batch.
+     * @param from the first start position.
+     * @param to the end (exclusive) of the start positions.
+     * @param targets the buckets of the partitions.
+     */
+    private void encodeChunk(int from, int to, LongList[] targets) {
+        final long mask = (1L << 2 * k) - 1;
+        final int highShift = 2 * (k - 1);
+        long forward = 0;
+        long reverse = 0;
+        int valid = 0;
+        for (int i = from; i < to + k - 1; i++) {
+            final int code = Alphabet.DNA.encode(batch[i] & 0xFF);
+            if (code < 0) {
+                valid = 0;
+                continue;
+            }
+            forward = (forward << 2 | code) & mask;
+            reverse = reverse >>> 2 | (long) (3 - code) << highShift;
+            if (++valid >= k) {
+                final long key = canonical ? Math.min(forward, reverse) : forward;
+                targets[partitionOf(key)].add(key);
+            }
+        }
+    }
+
+    /**
+     * A bounded min-heap of the most frequent k-mers, kept in primitive arrays.
+     */
+    private static final class TopKmers {
+
+        private final long[] keys;
+
+        private final int[] counts;
+
+        private int size;
+
+        private TopKmers(int capacity) {
+            this.keys = new long[capacity];
+            this.counts = new int[capacity];
+        }
+
+        private void offer(long key, int count) {
+            if (keys.length == 0) {
+                return;
+            }
+            if (size < keys.length) {
+                keys[size] = key;
+                counts[size] = count;
+                siftUp(size++);
+            } else if (isLess(keys[0], counts[0], key, count)) {
+                keys[0] = key;
+                counts[0] = count;
+                siftDown(0);
+            }
+        }
+
+        private List<KmerCount> toList(int k) {
+            final List<KmerCount> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new KmerCount(decode(keys[i], k), counts[i]));
+            }
+            result.sort(Comparator.comparingInt(KmerCount::count).reversed().thenComparing(KmerCount::kmer));
+            return result;
+        }
+
+        /**
+         * Orders by count, then by the reversed code, so that among equal counts the smaller k-mer is kept.
+         */
+        private static boolean isLess(long key1, int count1, long key2, int count2) {
+            return count1 < count2 || count1 == count2 && key1 > key2;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                final int parent = (index - 1) / 2;
+                if (!isLess(keys[index], counts[index], keys[parent], counts[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                final int left = 2 * index + 1;
+                final int right = left + 1;
+                int smallest = index;
+                if (left < size && isLess(keys[left], counts[left], keys[smallest], counts[smallest])) {
+                    smallest = left;
+                }
+                if (right < size && isLess(keys[right], counts[right], keys[smallest], counts[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            final long key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            final int count = counts[i];
+            counts[i] = counts[j];
+            counts[j] = count;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.ScaelBlu;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values (typically nanoseconds) with logarithmic buckets in the manner of the HDR
+ * histograms. Every power of two is split into 16 linear sub-buckets, so a recorded value is reported with less than
+ * 6.25% error while the whole long range fits into less than a thousand buckets.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.
+     * @param value a non-negative value. Negative values are recorded as zero.
+     */
+    public void record(long value) {
+        final long v = Math.max(value, 0);
+        buckets.incrementAndGet(indexOf(v));
+        count.increment();
+        sum.add(v);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Calculates the arithmetic mean of the recorded values.
+     * @return the mean, or zero if nothing has been recorded.
+     */
+    public double getMean() {
+        final long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Finds the value below which the given percentage of the recorded values falls.
+     * @param percentile the percentile between 0 and 100.
+     * @return the lower bound of the bucket containing the percentile, or zero if nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += buckets.get(i);
+        }
+        final long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return Math.min(lowerBoundOf(i), getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Determines the bucket of a value. The values below 32 have their own buckets, above that the highest five bits
+     * select the bucket within the power of two.
+     * @param value a non-negative value.
+     * @return the index of the bucket.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS + 1));
+        return SUB_BUCKET_COUNT + (highestBit - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT + subBucket - HALF_SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * Calculates the smallest value that falls into the given bucket.
+     * @param index the index of the bucket.
+     * @return the lower bound of the bucket.
+     */
+    static long lowerBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int octave = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT;
+        final long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return subBucket << (octave + 1);
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.ScaelBlu;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from non-negative long keys to int values with linear probing. Keys and values are kept
+ * in two primitive arrays, so neither lookups nor updates box anything. It is not thread-safe; the parallel users
+ * partition the key space and give every partition its own map.
+ */
+final class LongIntHashMap {
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private static final long EMPTY = -1L;
+
+    private static final double LOAD_FACTOR = 0.7;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    private int resizeThreshold;
+
+    LongIntHashMap() {
+        this(1 << 10);
+    }
+
+    LongIntHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(2, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1);
+    }
+
+    /**
+     * Spreads the bits of a key (the finalizer of the 64-bit MurmurHash3). The low bits select the slot, the high bits
+     * are free for partitioning.
+     * @param key the key to hash.
+     * @return the mixed hash.
+     */
+    static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Adds one to the value of the key, inserting it with one if it is missing.
+     * @param key a non-negative key.
+     */
+    void increment(long key) {
+        int slot = (int) mix(key) & mask;
+        while (true) {
+            final long current = keys[slot];
+            if (current == key) {
+                values[slot]++;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = 1;
+                if (++size > resizeThreshold) {
+                    resize();
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Looks up the value of a key.
+     * @param key a non-negative key.
+     * @return the value, or zero if the key is missing.
+     */
+    int get(long key) {
+        int slot = (int) mix(key) & mask;
+        while (true) {
+            final long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return 0;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = (int) mix(key) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.ScaelBlu;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive longs. It keeps its capacity when cleared, so it can be reused without allocation.
+ */
+public final class LongList {
+
+    private long[] values;
+
+    private int size;
+
+    public LongList() {
+        this(16);
+    }
+
+    public LongList(int capacity) {
+        this.values = new long[Math.max(1, capacity)];
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Appends every element of the other list.
+     * @param other the list to append.
+     */
+    public void addAll(LongList other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copies the elements into a new array.
+     * @return an array of the elements in insertion order.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
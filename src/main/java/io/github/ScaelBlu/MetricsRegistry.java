@@ -0,0 +1,87 @@
+package io.github.ScaelBlu;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-process registry of named counters and latency histograms. The operations of {@link BioUtils} report into the
+ * global instance, which can be dumped by the CLI or by an embedding service at any time.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the resets, so the holders of metric handles notice that their handles were removed.
+     */
+    private volatile long generation;
+
+    /**
+     * Returns the registry the BioUtils operations report into.
+     * @return the global registry.
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the counter with the given name, and creates it on first use.
+     * @param name the name of the counter.
+     * @return the counter.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, _ -> new LongAdder());
+    }
+
+    /**
+     * Returns the histogram with the given name, and creates it on first use.
+     * @param name the name of the histogram.
+     * @return the histogram.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, _ -> new LatencyHistogram());
+    }
+
+    /**
+     * Removes every counter and histogram.
+     */
+    public void reset() {
+        generation++;
+        counters.clear();
+        histograms.clear();
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Creates a human-readable snapshot of the registry. Counters are printed with their value, histograms (in
+     * microseconds, recorded as nanoseconds) with their count, mean, percentiles and maximum. Lines are sorted by name.
+     * @return the snapshot, one metric per line.
+     */
+    public String dump() {
+        final Map<String, String> lines = new TreeMap<>();
+        counters.forEach((name, counter) -> lines.put(name, "%s %d".formatted(name, counter.sum())));
+        histograms.forEach((name, histogram) -> lines.put(name,
+                "%s count=%d mean=%.1f p50=%d p90=%d p99=%d max=%d".formatted(name,
+                        histogram.getCount(),
+                        histogram.getMean() / 1000,
+                        micros(histogram.getValueAtPercentile(50)),
+                        micros(histogram.getValueAtPercentile(90)),
+                        micros(histogram.getValueAtPercentile(99)),
+                        micros(histogram.getMax()))));
+        return String.join(System.lineSeparator(), lines.values());
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Finds all occurrences of a motif in sequences of any length. The sequence is split into chunks of start positions
+ * which are scanned in parallel; a chunk reads motif length - 1 bytes past its last start position, so the occurrences
+ * crossing a chunk border are found by exactly one chunk. Every chunk collects its positions into a {@link LongList}, and
+ * the lists are concatenated in chunk order, so the result is ascending without sorting or boxing.
+ * <p>
+ * The input files are memory-mapped, so a file larger than the heap (or than 2 GB) is paged in by the operating system
+ * as the chunks are scanned.
+ */
+public final class MotifScanner {
+
+    /**
+     * The smallest number of start positions worth a parallel task.
+     */
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private MotifScanner() {
+    }
+
+    /**
+     * Finds all occurrences of a motif in a file in the format of {@link BioUtils#findAllMotifs(java.io.BufferedReader)}:
+     * the sequence in one line, followed by the motif in the last line.
+     * @param input the path of the input file.
+     * @return the numbers (not the indices!) of the first character of the found motifs in ascending order.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static long[] findAllMotifs(Path input) throws IOException {
+        try (Arena arena = Arena.ofShared();
+             FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            final MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            final long motifEnd = trimmedLength(file, file.byteSize());
+            long motifStart = motifEnd;
+            while (motifStart > 0 && file.get(ValueLayout.JAVA_BYTE, motifStart - 1) != '\n') {
+                motifStart--;
+            }
+            if (motifStart == 0) {
+                throw new IllegalArgumentException("Missing motif line in: %s".formatted(input));
+            }
+            final byte[] motif = file.asSlice(motifStart, motifEnd - motifStart).toArray(ValueLayout.JAVA_BYTE);
+            final long sequenceEnd = trimmedLength(file, motifStart);
+            return findAllMotifs(file.asSlice(0, sequenceEnd), motif, chunkSizeOf(sequenceEnd));
+        }
+    }
+
+    /**
+     * Finds all occurrences of a motif in a file holding only a sequence (in one line).
+     * @param sequence the path of the sequence file.
+     * @param motif the motif to find.
+     * @return the numbers (not the indices!) of the first character of the found motifs in ascending order.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static long[] findAllMotifs(Path sequence, String motif) throws IOException {
+        try (Arena arena = Arena.ofShared();
+             FileChannel channel = FileChannel.open(sequence, StandardOpenOption.READ)) {
+            final MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            final long length = trimmedLength(file, file.byteSize());
+            return findAllMotifs(file.asSlice(0, length), motif.getBytes(StandardCharsets.ISO_8859_1),
+                    chunkSizeOf(length));
+        }
+    }
+
+    /**
+     * Finds all occurrences of a motif in a slice, for example in a record of a mapped {@link SequenceStore}.
+     * @param sequence the sequence to examine.
+     * @param motif the motif to find.
+     * @return the numbers (not the indices!) of the first character of the found motifs in ascending order.
+     */
+    public static long[] findAllMotifs(SequenceSlice sequence, String motif) {
+        return findAllMotifs(sequence.segment(), motif.getBytes(StandardCharsets.ISO_8859_1),
+                chunkSizeOf(sequence.length()));
+    }
+
+    /**
+     * Scans the chunks in parallel on the common fork-join pool.
+     * @param sequence the sequence to examine.
+     * @param motif the motif to find.
+     * @param chunkSize the number of start positions in a chunk.
+     * @return the numbers of the found motifs in ascending order.
+     */
+    static long[] findAllMotifs(MemorySegment sequence, byte[] motif, long chunkSize) {
+        final OperationProbe probe = OperationProbe.start("MotifScanner");
+        try {
+            probe.record();
+            probe.bases(sequence.byteSize());
+            final long starts = sequence.byteSize() - motif.length + 1;
+            if (motif.length == 0 || starts <= 0) {
+                return new long[0];
+            }
+            final int chunks = Math.toIntExact((starts + chunkSize - 1) / chunkSize);
+            final List<LongList> found = IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(chunk -> {
+                        final long from = chunk * chunkSize;
+                        return scan(sequence, motif, from, Math.min(starts, from + chunkSize));
+                    })
+                    .toList();
+            final LongList positions = new LongList();
+            for (LongList chunkPositions : found) {
+                positions.addAll(chunkPositions);
+            }
+            return positions.toArray();
+        } finally {
+            probe.finish();
+        }
+    }
+
+    /**
+     * Splits the sequence into a few chunks per thread, but not into chunks smaller than {@link #MIN_CHUNK_SIZE}.
+     */
+    static long chunkSizeOf(long length) {
+        final long chunks = (long) ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        return Math.max(MIN_CHUNK_SIZE, (length + chunks - 1) / chunks);
+    }
+
+    /**
+     * Returns the length of a file region without its trailing whitespace (like line terminators).
+     */
+    static long trimmedLength(MemorySegment file, long end) {
+        while (end > 0 && file.get(ValueLayout.JAVA_BYTE, end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Scans the start positions of a chunk. The bytes are copied to the heap block by block (each block with the
+     * motif length - 1 bytes of overlap), so the comparison runs on arrays.
+     */
+    private static LongList scan(MemorySegment sequence, byte[] motif, long from, long to) {
+        final LongList positions = new LongList();
+        final byte[] block = new byte[(int) Math.min(BLOCK_SIZE, to - from) + motif.length - 1];
+        final byte first = motif[0];
+        for (long blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+            final int starts = (int) Math.min(BLOCK_SIZE, to - blockStart);
+            MemorySegment.copy(sequence, ValueLayout.JAVA_BYTE, blockStart, block, 0, starts + motif.length - 1);
+            for (int i = 0; i < starts; i++) {
+                if (block[i] == first && Arrays.equals(block, i, i + motif.length, motif, 0, motif.length)) {
+                    positions.add(blockStart + i + 1);
+                }
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.ScaelBlu;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics of one run of a sequence-processing operation. When the operation finishes it emits a
+ * {@link SequenceOperationEvent} (if a recording wants it) and updates the global {@link MetricsRegistry} under the name
+ * of the operation. A probe belongs to a single call and must not be shared.
+ */
+final class OperationProbe {
+
+    /**
+     * Answers whether the event is enabled. The setting belongs to the event class, so one shared instance can ask it
+     * without allocating an event per call.
+     */
+    private static final SequenceOperationEvent EVENT_STATE = new SequenceOperationEvent();
+
+    private static final Map<String, Metrics> METRICS = new ConcurrentHashMap<>();
+
+    private final Metrics metrics;
+
+    private final SequenceOperationEvent event;
+
+    private final long start;
+
+    private long bytesIn;
+
+    private long records;
+
+    private long bases;
+
+    private long invalidSymbols;
+
+    /**
+     * The metric handles of an operation, resolved by name once instead of on every call. They are resolved again after
+     * the registry has been reset.
+     */
+    private record Metrics(String operation, long generation, LatencyHistogram latency, LongAdder calls,
+                           LongAdder bytesIn, LongAdder records, LongAdder bases, LongAdder invalidSymbols) {
+
+        static Metrics of(String operation) {
+            final MetricsRegistry registry = MetricsRegistry.global();
+            final Metrics metrics = METRICS.get(operation);
+            if (metrics != null && metrics.generation() == registry.getGeneration()) {
+                return metrics;
+            }
+            final Metrics resolved = new Metrics(operation, registry.getGeneration(),
+                    registry.histogram(operation + ".latency"),
+                    registry.counter(operation + ".calls"),
+                    registry.counter(operation + ".bytesIn"),
+                    registry.counter(operation + ".records"),
+                    registry.counter(operation + ".bases"),
+                    registry.counter(operation + ".invalidSymbols"));
+            METRICS.put(operation, resolved);
+            return resolved;
+        }
+    }
+
+    private OperationProbe(String operation) {
+        this.metrics = Metrics.of(operation);
+        if (EVENT_STATE.isEnabled()) {
+            this.event = new SequenceOperationEvent();
+            this.event.begin();
+        } else {
+            this.event = null;
+        }
+        this.start = System.nanoTime();
+    }
+
+    static OperationProbe start(String operation) {
+        return new OperationProbe(operation);
+    }
+
+    /**
+     * Accounts an input line with its line terminator.
+     * @param line the line read from the input.
+     */
+    void read(String line) {
+        bytesIn += line.length() + 1;
+    }
+
+    void bytesIn(long count) {
+        bytesIn += count;
+    }
+
+    void record() {
+        records++;
+    }
+
+    void bases(long count) {
+        bases += count;
+    }
+
+    void invalidSymbol() {
+        invalidSymbols++;
+    }
+
+    /**
+     * Closes the probe. It must be called exactly once, even if the operation failed.
+     */
+    void finish() {
+        final long duration = System.nanoTime() - start;
+        metrics.latency().record(duration);
+        metrics.calls().increment();
+        metrics.bytesIn().add(bytesIn);
+        metrics.records().add(records);
+        metrics.bases().add(bases);
+        metrics.invalidSymbols().add(invalidSymbols);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = metrics.operation();
+                event.bytesIn = bytesIn;
+                event.records = records;
+                event.bases = bases;
+                event.invalidSymbols = invalidSymbols;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Finds reverse palindromes (substrings equal to their reverse complement) and restriction sites in one pass, without
+ * creating the reverse complement of the sequence. A reverse palindrome has even length and a centre between two bases,
+ * so every centre is extended outward as long as the bases on its two sides are complements of each other, compared
+ * through the lookup tables of {@link Alphabet#DNA}. The extension stops at the longest length of interest, so a pass
+ * costs at most that half-length comparisons per base.
+ * <p>
+ * Like {@link MotifScanner}, the centres are split into chunks which are scanned in parallel, and every chunk reads the
+ * half-length bytes around its centres. Symbols other than A, C, G and T (in either case), like N, are never part of a
+ * palindrome.
+ */
+public final class PalindromeScanner {
+
+    public static final int DEFAULT_MIN_LENGTH = 4;
+
+    public static final int DEFAULT_MAX_LENGTH = 12;
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    /**
+     * The bits of a packed result holding the length of a palindrome or the index of an enzyme. The position takes the
+     * bits above, so the packed results sort by position first.
+     */
+    private static final int VALUE_BITS = 16;
+
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+
+    /**
+     * A reverse palindrome.
+     * @param position the number (not the index!) of its first base.
+     * @param length the number of its bases.
+     */
+    public record Site(long position, int length) {}
+
+    /**
+     * A restriction enzyme and its recognition site.
+     * @param name the name of the enzyme, like EcoRI.
+     * @param site the recognition site, which must be a reverse palindrome, like GAATTC.
+     */
+    public record Enzyme(String name, String site) {
+
+        public Enzyme {
+            Alphabet.DNA.validate(site, 0);
+            site = site.toUpperCase();
+            if (site.isEmpty() || site.length() > VALUE_MASK || !isReversePalindrome(site)) {
+                throw new IllegalArgumentException("Recognition site is not a reverse palindrome: %s".formatted(site));
+            }
+        }
+    }
+
+    /**
+     * An occurrence of a recognition site.
+     * @param enzyme the enzyme recognizing the site.
+     * @param position the number (not the index!) of the first base of the site.
+     */
+    public record Match(Enzyme enzyme, long position) {}
+
+    /**
+     * Extends a centre, given the bases around it, and collects its results.
+     */
+    @FunctionalInterface
+    private interface CentreHandler {
+
+        /**
+         * @param block the bases around the centre.
+         * @param centre the index in the block of the base right of the centre.
+         * @param position the index in the sequence of the same base.
+         * @param radius the half-length of the longest palindrome around the centre, at most the maximum of the scan.
+         * @param found the packed results of the chunk.
+         */
+        void accept(byte[] block, int centre, long position, int radius, LongList found);
+    }
+
+    private PalindromeScanner() {
+    }
+
+    /**
+     * Finds the reverse palindromes of a file holding only a sequence (in one line).
+     * @param sequence the path of the sequence file.
+     * @param minLength the length of the shortest palindromes to report.
+     * @param maxLength the length of the longest palindromes to report.
+     * @return the palindromes ordered by position and length.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static List<Site> findReversePalindromes(Path sequence, int minLength, int maxLength) throws IOException {
+        try (Arena arena = Arena.ofShared();
+             FileChannel channel = FileChannel.open(sequence, StandardOpenOption.READ)) {
+            final MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            final long length = MotifScanner.trimmedLength(file, file.byteSize());
+            return findReversePalindromes(file.asSlice(0, length), minLength, maxLength,
+                    MotifScanner.chunkSizeOf(length));
+        }
+    }
+
+    /**
+     * Finds the reverse palindromes of a slice, for example of a record of a mapped {@link SequenceStore}.
+     * @param sequence the sequence to examine.
+     * @param minLength the length of the shortest palindromes to report.
+     * @param maxLength the length of the longest palindromes to report.
+     * @return the palindromes ordered by position and length.
+     */
+    public static List<Site> findReversePalindromes(SequenceSlice sequence, int minLength, int maxLength) {
+        return findReversePalindromes(sequence.segment(), minLength, maxLength,
+                MotifScanner.chunkSizeOf(sequence.length()));
+    }
+
+    /**
+     * Finds the occurrences of restriction sites in a file holding only a sequence (in one line).
+     * @param sequence the path of the sequence file.
+     * @param enzymes the enzymes to look for.
+     * @return the occurrences ordered by position, and by the order of the enzymes at the same position.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static List<Match> findRestrictionSites(Path sequence, List<Enzyme> enzymes) throws IOException {
+        try (Arena arena = Arena.ofShared();
+             FileChannel channel = FileChannel.open(sequence, StandardOpenOption.READ)) {
+            final MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            final long length = MotifScanner.trimmedLength(file, file.byteSize());
+            return findRestrictionSites(file.asSlice(0, length), enzymes, MotifScanner.chunkSizeOf(length));
+        }
+    }
+
+    /**
+     * Finds the occurrences of restriction sites in a slice, for example in a record of a mapped
+     * {@link SequenceStore}.
+     * @param sequence the sequence to examine.
+     * @param enzymes the enzymes to look for.
+     * @return the occurrences ordered by position, and by the order of the enzymes at the same position.
+     */
+    public static List<Match> findRestrictionSites(SequenceSlice sequence, List<Enzyme> enzymes) {
+        return findRestrictionSites(sequence.segment(), enzymes, MotifScanner.chunkSizeOf(sequence.length()));
+    }
+
+    /**
+     * Finds the reverse palindromes of a sequence in chunks of the given size.
+     * @param sequence the sequence to examine.
+     * @param minLength the length of the shortest palindromes to report.
+     * @param maxLength the length of the longest palindromes to report.
+     * @param chunkSize the number of centres in a chunk.
+     * @return the palindromes ordered by position and length.
+     */
+    static List<Site> findReversePalindromes(MemorySegment sequence, int minLength, int maxLength, long chunkSize) {
+        if (minLength < 2 || maxLength < minLength || maxLength > VALUE_MASK) {
+            throw new IllegalArgumentException("Invalid palindrome lengths: %d-%d".formatted(minLength, maxLength));
+        }
+        final int minRadius = (minLength + 1) / 2;
+        final long[] found = scan(sequence, maxLength / 2, chunkSize, (block, centre, position, radius, sites) -> {
+            for (int half = minRadius; half <= radius; half++) {
+                sites.add(pack(position - half + 1, 2 * half));
+            }
+        });
+        return Arrays.stream(found).mapToObj(site -> new Site(site >>> VALUE_BITS, (int) site & VALUE_MASK)).toList();
+    }
+
+    /**
+     * Finds the occurrences of restriction sites in a sequence in chunks of the given size.
+     * @param sequence the sequence to examine.
+     * @param enzymes the enzymes to look for.
+     * @param chunkSize the number of centres in a chunk.
+     * @return the occurrences ordered by position, and by the order of the enzymes at the same position.
+     */
+    static List<Match> findRestrictionSites(MemorySegment sequence, List<Enzyme> enzymes, long chunkSize) {
+        if (enzymes.size() > VALUE_MASK) {
+            throw new IllegalArgumentException("Too many enzymes: %d".formatted(enzymes.size()));
+        }
+        final byte[][] sites = enzymes.stream()
+                .map(enzyme -> enzyme.site().getBytes(StandardCharsets.ISO_8859_1))
+                .toArray(byte[][]::new);
+        final int maxRadius = Arrays.stream(sites).mapToInt(site -> site.length / 2).max().orElse(0);
+        final long[] found = scan(sequence, maxRadius, chunkSize, (block, centre, position, radius, matches) -> {
+            for (int enzyme = 0; enzyme < sites.length; enzyme++) {
+                final byte[] site = sites[enzyme];
+                final int half = site.length / 2;
+                if (half <= radius && matchesLeftHalf(block, centre - half, site, half)) {
+                    matches.add(pack(position - half + 1, enzyme));
+                }
+            }
+        });
+        return Arrays.stream(found)
+                .mapToObj(match -> new Match(enzymes.get((int) match & VALUE_MASK), match >>> VALUE_BITS))
+                .toList();
+    }
+
+    /**
+     * Scans the centres of a sequence in parallel on the common fork-join pool.
+     * @param sequence the sequence to examine.
+     * @param maxRadius the half-length where the extension of a centre stops.
+     * @param chunkSize the number of centres in a chunk.
+     * @param handler collects the results of a centre.
+     * @return the packed results in ascending order.
+     */
+    private static long[] scan(MemorySegment sequence, int maxRadius, long chunkSize, CentreHandler handler) {
+        final OperationProbe probe = OperationProbe.start("PalindromeScanner");
+        try {
+            probe.record();
+            probe.bases(sequence.byteSize());
+            final long centres = sequence.byteSize() - 1;
+            if (maxRadius == 0 || centres <= 0) {
+                return new long[0];
+            }
+            final int chunks = Math.toIntExact((centres + chunkSize - 1) / chunkSize);
+            final List<LongList> found = IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(chunk -> {
+                        final long from = 1 + chunk * chunkSize;
+                        return scan(sequence, maxRadius, from, Math.min(centres + 1, from + chunkSize), handler);
+                    })
+                    .toList();
+            final LongList results = new LongList();
+            for (LongList chunkResults : found) {
+                results.addAll(chunkResults);
+            }
+            // a palindrome starts left of its centre, so a later centre may report an earlier position
+            final long[] sorted = results.toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        } finally {
+            probe.finish();
+        }
+    }
+
+    /**
+     * Scans the centres of a chunk. The bytes are copied to the heap block by block, each block with maxRadius bytes of
+     * margin on both sides (as far as the sequence reaches).
+     */
+    private static LongList scan(MemorySegment sequence, int maxRadius, long from, long to, CentreHandler handler) {
+        final LongList found = new LongList();
+        final long length = sequence.byteSize();
+        final byte[] block = new byte[(int) Math.min(BLOCK_SIZE, to - from) + 2 * maxRadius];
+        for (long blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+            final long blockEnd = Math.min(to, blockStart + BLOCK_SIZE);
+            final long offset = Math.max(0, blockStart - maxRadius);
+            final int size = (int) (Math.min(length, blockEnd + maxRadius) - offset);
+            MemorySegment.copy(sequence, ValueLayout.JAVA_BYTE, offset, block, 0, size);
+            for (int centre = (int) (blockStart - offset); centre < blockEnd - offset; centre++) {
+                final int limit = Math.min(maxRadius, Math.min(centre, size - centre));
+                int radius = 0;
+                while (radius < limit && isComplement(block[centre - 1 - radius], block[centre + radius])) {
+                    radius++;
+                }
+                if (radius > 0) {
+                    handler.accept(block, centre, offset + centre, radius, found);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean isComplement(byte left, byte right) {
+        final byte complement = Alphabet.DNA.complement(right);
+        return complement != 0 && complement == Alphabet.DNA.fold(left);
+    }
+
+    /**
+     * Compares the left half of a palindrome with the left half of a site. The right halves are then equal as well,
+     * because both are the reverse complements of the left halves.
+     */
+    private static boolean matchesLeftHalf(byte[] block, int start, byte[] site, int half) {
+        for (int i = 0; i < half; i++) {
+            if (Alphabet.DNA.fold(block[start + i]) != site[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isReversePalindrome(String site) {
+        for (int i = 0, j = site.length() - 1; i <= j; i++, j--) {
+            if (site.charAt(i) != Alphabet.DNA.complement(site.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs a result, so the results of a chunk are collected without boxing.
+     * @param position the number of the first base.
+     * @param value the length of the palindrome or the index of the enzyme.
+     */
+    private static long pack(long position, int value) {
+        return position << VALUE_BITS | value;
+    }
+}
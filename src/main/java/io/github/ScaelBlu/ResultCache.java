@@ -0,0 +1,355 @@
+package io.github.ScaelBlu;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Caches the results of analyses of input files, so a repeated analysis of the same file is not recomputed. An entry is
+ * keyed by the XXH64 hash of the file content, the name of the operation and its parameters, so a renamed copy of a file
+ * hits the same entry while a modified file misses it. The hash of a file is remembered with its size and modification
+ * time, and a file which did not change since is not hashed again.
+ * <p>
+ * The results are kept in two tiers: a bounded in-memory LRU map in front of a directory. The directory is bounded by
+ * the total size of its entries, and the least recently used entries (by modification time, which is updated on every
+ * hit) are evicted first. Entries are written into a temporary file and moved into place atomically, so readers (even in
+ * other processes sharing the directory) never see a partial result.
+ */
+public class ResultCache {
+
+    /**
+     * Part of every key. It must be increased when the format or the semantics of a cached result change.
+     */
+    private static final int VERSION = 2;
+
+    private static final String SUFFIX = ".result";
+
+    private final Path directory;
+
+    private final long maxDiskBytes;
+
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    private final Map<String, String> memory;
+
+    private final Map<Path, Fingerprint> fingerprints;
+
+    private final LongAdder memoryHits = new LongAdder();
+
+    private final LongAdder diskHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Computes a result from an input file.
+     */
+    @FunctionalInterface
+    public interface Computation {
+
+        /**
+         * Runs the analysis.
+         * @param input the input file.
+         * @return the result to cache.
+         * @throws IOException if an I/O error occurs.
+         */
+        String compute(Path input) throws IOException;
+    }
+
+    /**
+     * The content hash of a file, valid as long as the size and the modification time of the file are unchanged.
+     */
+    private record Fingerprint(long size, FileTime modified, long hash) {}
+
+    /**
+     * A result file in the directory.
+     */
+    private record Entry(Path path, long size, FileTime lastUsed) {}
+
+    /**
+     * Creates a cache, or opens the cache in an existing directory.
+     * @param directory the directory of the cached results. It is created if it does not exist.
+     * @param maxDiskBytes the total size of the results kept in the directory.
+     * @param maxMemoryEntries the number of results kept in memory.
+     * @throws IOException if the directory can not be created or read.
+     */
+    public ResultCache(Path directory, long maxDiskBytes, int maxMemoryEntries) throws IOException {
+        if (maxDiskBytes < 0 || maxMemoryEntries < 0) {
+            throw new IllegalArgumentException("Cache limits must not be negative.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxDiskBytes = maxDiskBytes;
+        this.memory = lruMap(maxMemoryEntries);
+        this.fingerprints = lruMap(Math.max(16, maxMemoryEntries));
+        try (Stream<Path> entries = Files.list(directory)) {
+            diskBytes.set(entries.filter(ResultCache::isEntry).mapToLong(ResultCache::sizeOf).sum());
+        }
+    }
+
+    /**
+     * Returns the cached result of an analysis, or computes and caches it.
+     * @param input the input file.
+     * @param operation the name of the analysis.
+     * @param computation computes the result on a miss.
+     * @param parameters the parameters of the analysis which affect the result, in a fixed order. They are keyed by
+     *                   their string form.
+     * @return the result.
+     * @throws IOException if an I/O error occurs.
+     */
+    public String get(Path input, String operation, Computation computation, Object... parameters) throws IOException {
+        final String key = keyOf(input, operation, parameters);
+        String result;
+        synchronized (memory) {
+            result = memory.get(key);
+        }
+        if (result != null) {
+            count(memoryHits, "memoryHits");
+            return result;
+        }
+        result = readEntry(key);
+        if (result != null) {
+            count(diskHits, "diskHits");
+        } else {
+            count(misses, "misses");
+            result = computation.compute(input);
+            writeEntry(key, result);
+        }
+        synchronized (memory) {
+            memory.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the consensus sequence of a (possibly compressed) FASTA file like
+     * {@link BioUtils#createConsensusSequence(ReadableByteChannel)}.
+     * @param fasta the path of the FASTA file.
+     * @return a possible consensus motif and the underlying position matrix.
+     * @throws IOException if an I/O error occurs.
+     */
+    public String createConsensusSequence(Path fasta) throws IOException {
+        return get(fasta, "createConsensusSequence", path -> {
+            try (ReadableByteChannel channel = SequenceInputs.open(path)) {
+                return BioUtils.createConsensusSequence(channel);
+            }
+        });
+    }
+
+    /**
+     * Finds the record with the highest GC content of a (possibly compressed) FASTA file like
+     * {@link BioUtils#findHighestGcContent(ReadableByteChannel)}.
+     * @param fasta the path of the FASTA file.
+     * @return the highest GC percentage with its label.
+     * @throws IOException if an I/O error occurs.
+     */
+    public String findHighestGcContent(Path fasta) throws IOException {
+        return get(fasta, "findHighestGcContent", path -> {
+            try (ReadableByteChannel channel = SequenceInputs.open(path)) {
+                return BioUtils.findHighestGcContent(channel);
+            }
+        });
+    }
+
+    /**
+     * Finds all occurrence of a motif like {@link BioUtils#findAllMotifs(BufferedReader)}.
+     * @param input the path of the file with the sequence and the motif in separate lines.
+     * @return a list with the number (not the index!) of the first character of the found motifs.
+     * @throws IOException if an I/O error occurs.
+     */
+    public List<Integer> findAllMotifs(Path input) throws IOException {
+        final String positions = get(input, "findAllMotifs", path -> {
+            try (BufferedReader reader = SequenceInputs.openReader(path)) {
+                return BioUtils.findAllMotifs(reader).stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(" "));
+            }
+        });
+        return positions.isEmpty() ? List.of() : Arrays.stream(positions.split(" ")).map(Integer::valueOf).toList();
+    }
+
+    /**
+     * Translates an mRNA file like {@link BioUtils#mRnaTranslator}.
+     * @param mRna the path of the mRNA file.
+     * @param frame the reading frame of translation.
+     * @param codeType determines the rules of codon-amino acid assignment.
+     * @param terminateAtStop translation stops at stop codons if true.
+     * @return a translated protein string.
+     * @throws IOException if an I/O error occurs.
+     */
+    public String mRnaTranslator(Path mRna, OpenReadingFrame frame, GeneticCodeType codeType, boolean terminateAtStop)
+            throws IOException {
+        return get(mRna, "mRnaTranslator", path -> {
+            try (BufferedReader reader = SequenceInputs.openReader(path)) {
+                return BioUtils.mRnaTranslator(reader, frame, codeType, terminateAtStop);
+            }
+        }, frame, codeType, terminateAtStop);
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.sum();
+    }
+
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the total size of the results in the directory, as tracked by this instance.
+     * @return the size in bytes.
+     */
+    public long getDiskBytes() {
+        return diskBytes.get();
+    }
+
+    /**
+     * Drops the in-memory tier and the remembered file hashes. The directory is kept.
+     */
+    public void clearMemory() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        synchronized (fingerprints) {
+            fingerprints.clear();
+        }
+    }
+
+    /**
+     * Creates the key of an entry: the hash of the input and the hash of the operation with its parameters, as hex.
+     */
+    private String keyOf(Path input, String operation, Object[] parameters) throws IOException {
+        final StringBuilder description = new StringBuilder().append(VERSION).append('\0').append(operation);
+        for (Object parameter : parameters) {
+            description.append('\0').append(parameter);
+        }
+        final long operationHash = XxHash64.hash(description.toString().getBytes(StandardCharsets.UTF_8));
+        return "%016x-%016x".formatted(hashOf(input), operationHash);
+    }
+
+    private long hashOf(Path input) throws IOException {
+        final Path file = input.toAbsolutePath().normalize();
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Fingerprint fingerprint;
+        synchronized (fingerprints) {
+            fingerprint = fingerprints.get(file);
+        }
+        if (fingerprint == null || fingerprint.size() != attributes.size()
+                || !fingerprint.modified().equals(attributes.lastModifiedTime())) {
+            fingerprint = new Fingerprint(attributes.size(), attributes.lastModifiedTime(), XxHash64.hash(file));
+            synchronized (fingerprints) {
+                fingerprints.put(file, fingerprint);
+            }
+        }
+        return fingerprint.hash();
+    }
+
+    /**
+     * Reads an entry from the directory and marks it as recently used.
+     * @return the result, or null if there is no such entry.
+     */
+    private String readEntry(String key) throws IOException {
+        final Path entry = directory.resolve(key + SUFFIX);
+        try {
+            final String result = Files.readString(entry, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return result;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void writeEntry(String key, String result) throws IOException {
+        final byte[] bytes = result.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxDiskBytes) {
+            return;
+        }
+        final Path entry = directory.resolve(key + SUFFIX);
+        final Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            Files.write(temporary, bytes);
+            final long replaced = Files.exists(entry) ? sizeOf(entry) : 0;
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (diskBytes.addAndGet(bytes.length - replaced) > maxDiskBytes) {
+                evict(entry);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the directory fits into its limit. The size is recounted from the
+     * directory, so the entries written by other processes are accounted as well.
+     * @param written the entry just written, which is kept even if its modification time equals older ones.
+     */
+    private synchronized void evict(Path written) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files.filter(ResultCache::isEntry)::iterator) {
+                if (path.equals(written)) {
+                    total += sizeOf(path);
+                    continue;
+                }
+                try {
+                    final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    entries.add(new Entry(path, attributes.size(), attributes.lastModifiedTime()));
+                    total += attributes.size();
+                } catch (NoSuchFileException e) {
+                    // evicted by another process
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::lastUsed));
+        for (int i = 0; i < entries.size() && total > maxDiskBytes; i++) {
+            Files.deleteIfExists(entries.get(i).path());
+            total -= entries.get(i).size();
+        }
+        diskBytes.set(total);
+    }
+
+    private static void count(LongAdder counter, String name) {
+        counter.increment();
+        MetricsRegistry.global().counter("resultCache." + name).increment();
+    }
+
+    private static boolean isEntry(Path path) {
+        return path.getFileName().toString().endsWith(SUFFIX);
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static <K, V> Map<K, V> lruMap(int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+}
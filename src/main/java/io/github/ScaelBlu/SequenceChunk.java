@@ -0,0 +1,22 @@
+package io.github.ScaelBlu;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A piece of a sequence passed between the stages of a {@link SequencePipeline}. The chunks of a stream follow each
+ * other without gaps, so the position of a chunk is the sum of the lengths of the previous ones. The array is handed over
+ * to the next stage and must not be modified after the chunk is published.
+ * @param position the zero-based position of the first symbol in the whole sequence.
+ * @param symbols the symbols of the chunk.
+ */
+public record SequenceChunk(long position, byte[] symbols) {
+
+    public int length() {
+        return symbols.length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(symbols, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,605 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Generates reproducible synthetic inputs for load tests and benchmarks: FASTA and FASTQ files, and the two-line inputs
+ * of the motif finder and the Hamming distance. The output depends only on the seed and the settings, never on the
+ * number of threads: every record (and every segment of a single-sequence file) gets its own {@link SplittableRandom},
+ * split from the seeded root in file order before the work is distributed. The byte size of every part is known in
+ * advance, so the parts are generated in parallel on the common fork-join pool and written through direct buffers at
+ * their own positions of the file.
+ * <pre>{@code
+ * new SequenceGenerator(42)
+ *         .gcContent(0.6)
+ *         .lengths(500, 5000, SequenceGenerator.LengthDistribution.NORMAL)
+ *         .motif("GATTACA", 2)
+ *         .writeFasta(Path.of("reads.fasta"), 1_000_000);
+ * }</pre>
+ */
+public final class SequenceGenerator {
+
+    public static final int DEFAULT_LINE_WIDTH = 60;
+
+    /**
+     * The number of bases generated at once, and the length of a parallel segment of a single-sequence file.
+     */
+    private static final int SEGMENT_SIZE = 1 << 20;
+
+    private static final int BUFFER_SIZE = 1 << 22;
+
+    /**
+     * The smallest number of bytes worth a parallel task of a FASTA or FASTQ file.
+     */
+    private static final long TASK_SIZE = 1 << 20;
+
+    /**
+     * The number of records planned at once, which bounds the memory of the plans.
+     */
+    private static final int RECORDS_PER_BATCH = 1 << 16;
+
+    private static final String NAME_PREFIX = "Synthetic_";
+
+    private static final byte[] AT = {'A', 'T'};
+
+    private static final byte[] GC = {'G', 'C'};
+
+    private static final int MIN_QUALITY = 10;
+
+    private static final int QUALITY_RANGE = 31;
+
+    /**
+     * The quality symbol of every 16-bit sample.
+     */
+    private static final byte[] QUALITIES = new byte[1 << 16];
+
+    static {
+        for (int sample = 0; sample < QUALITIES.length; sample++) {
+            QUALITIES[sample] = (byte) ('!' + MIN_QUALITY + sample % QUALITY_RANGE);
+        }
+    }
+
+    private final long seed;
+
+    /**
+     * The base of every 16-bit sample, so the bases are drawn without unpredictable branches.
+     */
+    private final byte[] samples = new byte[1 << 16];
+
+    private int minLength = 1000;
+
+    private int maxLength = 1000;
+
+    private LengthDistribution lengthDistribution = LengthDistribution.UNIFORM;
+
+    private double mutationRate;
+
+    private byte[] motif = new byte[0];
+
+    private int motifsPerRecord;
+
+    private int lineWidth = DEFAULT_LINE_WIDTH;
+
+    /**
+     * The distribution of the record lengths between the minimum and the maximum.
+     */
+    public enum LengthDistribution {
+
+        UNIFORM,
+
+        /**
+         * Normal distribution around the middle of the range with the sixth of the range as standard deviation,
+         * truncated to the range.
+         */
+        NORMAL
+    }
+
+    /**
+     * The planned part of the output: a record of a FASTA or FASTQ file, or a segment of a single-sequence file.
+     * @param index the number of the record or the segment.
+     * @param position the position of the part in the file.
+     * @param length the number of bases.
+     * @param random the random generator of the part.
+     * @param motifs the sorted zero-based positions of the planted motifs.
+     */
+    private record Part(long index, long position, long length, SplittableRandom random, long[] motifs) {}
+
+    /**
+     * Creates a generator of DNA with 50% GC content, 1000 bases long records, FASTA lines of
+     * {@value #DEFAULT_LINE_WIDTH} bases and without mutations or planted motifs.
+     * @param seed the seed of every output.
+     */
+    public SequenceGenerator(long seed) {
+        this.seed = seed;
+        gcContent(0.5);
+    }
+
+    /**
+     * Sets the GC content (the probability of G or C at every base).
+     * @param gcContent the GC content between 0 and 1.
+     * @return this generator.
+     */
+    public SequenceGenerator gcContent(double gcContent) {
+        if (!(gcContent >= 0 && gcContent <= 1)) {
+            throw new IllegalArgumentException("GC content must be between 0 and 1.");
+        }
+        final int threshold = (int) Math.round(gcContent * samples.length);
+        for (int sample = 0; sample < samples.length; sample++) {
+            samples[sample] = sample < threshold ? GC[sample & 1] : AT[sample & 1];
+        }
+        return this;
+    }
+
+    /**
+     * Sets the distribution of the record lengths. The length of a two-line input is given to its writer instead.
+     * @param minLength the shortest record.
+     * @param maxLength the longest record.
+     * @param distribution the distribution of the lengths in between.
+     * @return this generator.
+     */
+    public SequenceGenerator lengths(int minLength, int maxLength, LengthDistribution distribution) {
+        if (minLength < 0 || maxLength < minLength) {
+            throw new IllegalArgumentException("Invalid length range: %d-%d".formatted(minLength, maxLength));
+        }
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.lengthDistribution = distribution;
+        return this;
+    }
+
+    /**
+     * Sets the probability of a point mutation at every base of the second strand of a Hamming input.
+     * @param mutationRate the rate between 0 and 1.
+     * @return this generator.
+     */
+    public SequenceGenerator mutationRate(double mutationRate) {
+        if (!(mutationRate >= 0 && mutationRate <= 1)) {
+            throw new IllegalArgumentException("Mutation rate must be between 0 and 1.");
+        }
+        this.mutationRate = mutationRate;
+        return this;
+    }
+
+    /**
+     * Plants copies of a motif at random positions of every record long enough to hold it. Planted copies may overlap
+     * each other, and the motif may occur by chance as well.
+     * @param motif the DNA motif.
+     * @param perRecord the number of copies planted in every record.
+     * @return this generator.
+     */
+    public SequenceGenerator motif(String motif, int perRecord) {
+        Alphabet.DNA.validate(motif, 0);
+        if (perRecord < 0) {
+            throw new IllegalArgumentException("Number of motifs must not be negative.");
+        }
+        this.motif = motif.toUpperCase().getBytes(StandardCharsets.ISO_8859_1);
+        this.motifsPerRecord = motif.isEmpty() ? 0 : perRecord;
+        return this;
+    }
+
+    /**
+     * Sets the number of bases in a line of a FASTA record.
+     * @param lineWidth the line width, or 0 to write every sequence in one line.
+     * @return this generator.
+     */
+    public SequenceGenerator lineWidth(int lineWidth) {
+        if (lineWidth < 0) {
+            throw new IllegalArgumentException("Line width must not be negative.");
+        }
+        this.lineWidth = lineWidth;
+        return this;
+    }
+
+    /**
+     * Writes a FASTA file with records named {@code >Synthetic_1}, {@code >Synthetic_2} and so on.
+     * @param path the path of the file. An existing file is overwritten.
+     * @param records the number of records.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeFasta(Path path, long records) throws IOException {
+        writeRecords(path, records, false);
+    }
+
+    /**
+     * Writes a FASTQ file with random Phred+33 qualities between {@value #MIN_QUALITY} and 40. The sequences are not
+     * wrapped.
+     * @param path the path of the file. An existing file is overwritten.
+     * @param records the number of records.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeFastq(Path path, long records) throws IOException {
+        writeRecords(path, records, true);
+    }
+
+    /**
+     * Writes the input of the motif finder: a sequence with the planted motifs in the first line and the motif in the
+     * second one.
+     * @param path the path of the file. An existing file is overwritten.
+     * @param length the number of bases in the sequence.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeMotifInput(Path path, long length) throws IOException {
+        if (motif.length == 0) {
+            throw new IllegalArgumentException("Motif is not set.");
+        }
+        writeLines(path, length, false);
+    }
+
+    /**
+     * Writes the input of the Hamming distance: a sequence in the first line and its copy with point mutations at the
+     * mutation rate in the second one. Every mutation changes the base, so the distance of the lines is the number of
+     * mutations.
+     * @param path the path of the file. An existing file is overwritten.
+     * @param length the number of bases in a line.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeHammingInput(Path path, long length) throws IOException {
+        writeLines(path, length, true);
+    }
+
+    private void writeRecords(Path path, long records, boolean fastq) throws IOException {
+        if (records < 0) {
+            throw new IllegalArgumentException("Number of records must not be negative.");
+        }
+        final OperationProbe probe = OperationProbe.start("SequenceGenerator");
+        try (FileChannel channel = open(path)) {
+            final SplittableRandom root = new SplittableRandom(seed);
+            final Queue<Output> outputs = new ConcurrentLinkedQueue<>();
+            long position = 0;
+            for (long first = 0; first < records; first += RECORDS_PER_BATCH) {
+                final Part[] batch = new Part[(int) Math.min(RECORDS_PER_BATCH, records - first)];
+                final List<int[]> tasks = new ArrayList<>();
+                int taskStart = 0;
+                long taskSize = 0;
+                for (int i = 0; i < batch.length; i++) {
+                    final SplittableRandom random = root.split();
+                    final long length = lengthOf(random);
+                    batch[i] = new Part(first + i + 1, position, length, random, plant(random, length));
+                    final long size = recordSize(batch[i], fastq);
+                    position += size;
+                    taskSize += size;
+                    probe.record();
+                    probe.bases(length);
+                    if (taskSize >= TASK_SIZE || i == batch.length - 1) {
+                        tasks.add(new int[]{taskStart, i + 1});
+                        taskStart = i + 1;
+                        taskSize = 0;
+                    }
+                }
+                inParallel(tasks.size(), task -> {
+                    final Output output = take(outputs, channel, batch[tasks.get(task)[0]].position());
+                    for (int i = tasks.get(task)[0]; i < tasks.get(task)[1]; i++) {
+                        writeRecord(output, batch[i], fastq);
+                    }
+                    give(outputs, output);
+                });
+            }
+        } finally {
+            probe.finish();
+        }
+    }
+
+    private void writeLines(Path path, long length, boolean mutate) throws IOException {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative.");
+        }
+        final OperationProbe probe = OperationProbe.start("SequenceGenerator");
+        try (FileChannel channel = open(path)) {
+            final SplittableRandom root = new SplittableRandom(seed);
+            final long[] motifs = mutate ? new long[0] : plant(root, length);
+            final int segments = Math.toIntExact((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            final Part[] parts = new Part[segments];
+            for (int i = 0; i < segments; i++) {
+                final long start = (long) i * SEGMENT_SIZE;
+                parts[i] = new Part(i, start, Math.min(SEGMENT_SIZE, length - start), root.split(), motifs);
+            }
+            final Queue<Output> outputs = new ConcurrentLinkedQueue<>();
+            inParallel(segments, segment -> {
+                final Part part = parts[segment];
+                final Output output = take(outputs, channel, part.position());
+                final int count = (int) part.length();
+                fill(part.random(), output.bases, count);
+                overlay(output.bases, part.position(), count, part.motifs());
+                output.put(output.bases, 0, count);
+                if (mutate) {
+                    mutate(part.random(), output.bases, count);
+                    output.moveTo(length + 1 + part.position());
+                    output.put(output.bases, 0, count);
+                }
+                give(outputs, output);
+            });
+            final Output output = new Output(channel, length);
+            output.put((byte) '\n');
+            if (mutate) {
+                output.moveTo(2 * length + 1);
+            } else {
+                output.put(motif, 0, motif.length);
+            }
+            output.put((byte) '\n');
+            output.flush();
+            probe.record();
+            probe.bases(mutate ? 2 * length : length);
+        } finally {
+            probe.finish();
+        }
+    }
+
+    private void writeRecord(Output output, Part record, boolean fastq) {
+        output.put((byte) (fastq ? '@' : '>'));
+        output.put((NAME_PREFIX + record.index() + "\n").getBytes(StandardCharsets.ISO_8859_1));
+        final SplittableRandom bases = record.random().split();
+        for (long start = 0; start < record.length(); start += SEGMENT_SIZE) {
+            final int count = (int) Math.min(SEGMENT_SIZE, record.length() - start);
+            fill(bases, output.bases, count);
+            overlay(output.bases, start, count, record.motifs());
+            if (fastq || lineWidth == 0) {
+                output.put(output.bases, 0, count);
+            } else {
+                output.putWrapped(output.bases, count, start, lineWidth);
+            }
+        }
+        if (sequenceLines(record.length(), fastq) > fullLines(record.length(), fastq)) {
+            output.put((byte) '\n');
+        }
+        if (fastq) {
+            output.put((byte) '+');
+            output.put((byte) '\n');
+            final SplittableRandom qualities = record.random().split();
+            for (long start = 0; start < record.length(); start += SEGMENT_SIZE) {
+                final int count = (int) Math.min(SEGMENT_SIZE, record.length() - start);
+                fillQualities(qualities, output.bases, count);
+                output.put(output.bases, 0, count);
+            }
+            output.put((byte) '\n');
+        }
+    }
+
+    private long recordSize(Part record, boolean fastq) {
+        final long header = 2 + NAME_PREFIX.length() + Long.toString(record.index()).length();
+        final long sequence = record.length() + sequenceLines(record.length(), fastq);
+        return fastq ? header + sequence + 2 + record.length() + 1 : header + sequence;
+    }
+
+    /**
+     * Counts the lines (and so the line feeds) of a sequence. {@link #recordSize} and {@link #writeRecord} both follow
+     * it, so the planned size always matches the written bytes. A FASTQ sequence is one line even if it is empty, while
+     * an empty FASTA sequence has no line at all.
+     */
+    private long sequenceLines(long length, boolean fastq) {
+        if (fastq) {
+            return 1;
+        }
+        return lineWidth == 0 ? Math.min(1, length) : (length + lineWidth - 1) / lineWidth;
+    }
+
+    /**
+     * Counts the full lines of a sequence, which are terminated while the bases are wrapped.
+     */
+    private long fullLines(long length, boolean fastq) {
+        return fastq || lineWidth == 0 ? 0 : length / lineWidth;
+    }
+
+    private long lengthOf(SplittableRandom random) {
+        if (minLength == maxLength) {
+            return minLength;
+        }
+        return switch (lengthDistribution) {
+            case UNIFORM -> random.nextLong(minLength, maxLength + 1L);
+            case NORMAL -> {
+                final double length = (minLength + maxLength) / 2.0 + random.nextGaussian() * (maxLength - minLength) / 6;
+                yield Math.clamp(Math.round(length), minLength, maxLength);
+            }
+        };
+    }
+
+    /**
+     * Draws the positions of the planted motifs of a sequence.
+     */
+    private long[] plant(SplittableRandom random, long length) {
+        if (motifsPerRecord == 0 || length < motif.length) {
+            return new long[0];
+        }
+        final long[] positions = new long[motifsPerRecord];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextLong(length - motif.length + 1);
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    private void fill(SplittableRandom random, byte[] bases, int count) {
+        draw(random, samples, bases, count);
+    }
+
+    private static void fillQualities(SplittableRandom random, byte[] qualities, int count) {
+        draw(random, QUALITIES, qualities, count);
+    }
+
+    /**
+     * Draws four symbols from every random long, 16 bits each. Below the GC threshold the samples of the bases are G or
+     * C, otherwise A or T, and the lowest bit chooses between the two.
+     */
+    private static void draw(SplittableRandom random, byte[] symbols, byte[] target, int count) {
+        int i = 0;
+        for (; i + 4 <= count; i += 4) {
+            final long bits = random.nextLong();
+            target[i] = symbols[(int) bits & 0xFFFF];
+            target[i + 1] = symbols[(int) (bits >>> 16) & 0xFFFF];
+            target[i + 2] = symbols[(int) (bits >>> 32) & 0xFFFF];
+            target[i + 3] = symbols[(int) (bits >>> 48)];
+        }
+        for (long bits = random.nextLong(); i < count; i++, bits >>>= 16) {
+            target[i] = symbols[(int) bits & 0xFFFF];
+        }
+    }
+
+    /**
+     * Copies the planted motifs overlapping the bases of a sequence between start and start + count.
+     */
+    private void overlay(byte[] bases, long start, int count, long[] motifs) {
+        int i = Arrays.binarySearch(motifs, start - motif.length + 1);
+        for (i = i < 0 ? -i - 1 : i; i < motifs.length && motifs[i] < start + count; i++) {
+            for (int j = 0; j < motif.length; j++) {
+                final long at = motifs[i] + j - start;
+                if (at >= 0 && at < count) {
+                    bases[(int) at] = motif[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Mutates the bases at the mutation rate. The gaps between the mutations are drawn from the geometric
+     * distribution, so the cost depends on the number of mutations instead of the number of bases.
+     */
+    private void mutate(SplittableRandom random, byte[] bases, int count) {
+        if (mutationRate == 0) {
+            return;
+        }
+        for (long i = gap(random); i < count; i += 1 + gap(random)) {
+            final int code = Alphabet.DNA.encode(bases[(int) i]);
+            bases[(int) i] = (byte) Alphabet.DNA.decode((code + 1 + random.nextInt(3)) & 3);
+        }
+    }
+
+    private long gap(SplittableRandom random) {
+        return mutationRate == 1 ? 0 : (long) (Math.log(1 - random.nextDouble()) / Math.log(1 - mutationRate));
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Runs the tasks on the common fork-join pool and rethrows the first I/O error.
+     */
+    private static void inParallel(int tasks, IntConsumer task) throws IOException {
+        try {
+            IntStream.range(0, tasks).parallel().forEach(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Takes a pooled output (or creates one), so a buffer is allocated per thread instead of per task.
+     */
+    private static Output take(Queue<Output> outputs, FileChannel channel, long position) {
+        final Output output = outputs.poll();
+        if (output == null) {
+            return new Output(channel, position);
+        }
+        output.moveTo(position);
+        return output;
+    }
+
+    private static void give(Queue<Output> outputs, Output output) {
+        output.flush();
+        outputs.add(output);
+    }
+
+    /**
+     * Writes bytes to consecutive positions of a file through a direct buffer.
+     */
+    private static final class Output {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /**
+         * The scratch array of the bases being generated.
+         */
+        private final byte[] bases = new byte[SEGMENT_SIZE];
+
+        private byte[] lines = new byte[0];
+
+        private long position;
+
+        private Output(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        private void put(byte symbol) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(symbol);
+        }
+
+        private void put(byte[] symbols) {
+            put(symbols, 0, symbols.length);
+        }
+
+        private void put(byte[] symbols, int offset, int count) {
+            while (count > 0) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                final int size = Math.min(count, buffer.remaining());
+                buffer.put(symbols, offset, size);
+                offset += size;
+                count -= size;
+            }
+        }
+
+        /**
+         * Puts bases with a line feed after every full line. The lines are assembled on the heap, so the direct buffer
+         * is written once per segment instead of once per line.
+         * @param written the number of bases of the record put before, which determines the current column.
+         */
+        private void putWrapped(byte[] symbols, int count, long written, int width) {
+            if (lines.length < count + count / width + 1) {
+                lines = new byte[count + count / width + 1];
+            }
+            int offset = 0;
+            int size = 0;
+            int column = (int) (written % width);
+            while (offset < count) {
+                final int length = Math.min(count - offset, width - column);
+                System.arraycopy(symbols, offset, lines, size, length);
+                offset += length;
+                size += length;
+                column += length;
+                if (column == width) {
+                    lines[size++] = '\n';
+                    column = 0;
+                }
+            }
+            put(lines, 0, size);
+        }
+
+        private void moveTo(long position) {
+            flush();
+            this.position = position;
+        }
+
+        private void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
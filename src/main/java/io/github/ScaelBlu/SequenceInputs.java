@@ -0,0 +1,97 @@
+package io.github.ScaelBlu;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens sequence files regardless of their compression. The first bytes of the file decide how it is read:
+ * <ul>
+ *     <li>plain text is read directly,</li>
+ *     <li>gzip is streamed through a buffered inflater,</li>
+ *     <li>BGZF (blocked gzip, the compression of the indexed FASTA/FASTQ/BAM files) is inflated block by block in
+ *     parallel and reassembled in the original order.</li>
+ * </ul>
+ * The returned channels and readers can be passed to any reading method of {@link BioUtils}.
+ */
+public class SequenceInputs {
+
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
+    private static final int GZIP_HEADER_SIZE = 18;
+
+    private SequenceInputs() {
+    }
+
+    public enum Compression {
+        NONE, GZIP, BGZF
+    }
+
+    /**
+     * Opens the given file as a byte channel. BGZF blocks are inflated on the common fork-join pool.
+     * @param path the path of the sequence file.
+     * @return a channel of the uncompressed content.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static ReadableByteChannel open(Path path) throws IOException {
+        return open(path, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Opens the given file as a byte channel.
+     * @param path the path of the sequence file.
+     * @param executor the executor inflating the BGZF blocks. It is not shut down by the channel.
+     * @return a channel of the uncompressed content.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static ReadableByteChannel open(Path path, ExecutorService executor) throws IOException {
+        return switch (detectCompression(path)) {
+            case NONE -> FileChannel.open(path, StandardOpenOption.READ);
+            case GZIP -> Channels.newChannel(new GZIPInputStream(Files.newInputStream(path), GZIP_BUFFER_SIZE));
+            case BGZF -> new BgzfChannel(FileChannel.open(path, StandardOpenOption.READ), executor,
+                    2 * Runtime.getRuntime().availableProcessors());
+        };
+    }
+
+    /**
+     * Opens the given file as a character reader for the {@link BufferedReader} based methods of {@link BioUtils}.
+     * @param path the path of the sequence file.
+     * @return a reader of the uncompressed content.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static BufferedReader openReader(Path path) throws IOException {
+        return new BufferedReader(Channels.newReader(open(path), StandardCharsets.US_ASCII), GZIP_BUFFER_SIZE);
+    }
+
+    /**
+     * Detects the compression of a file from its header.
+     * @param path the path of the file.
+     * @return the compression of the file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static Compression detectCompression(Path path) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(GZIP_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // reading the whole header if the file is long enough
+            }
+        }
+        header.flip();
+        if (header.remaining() < 3 || header.get(0) != (byte) 0x1f || header.get(1) != (byte) 0x8b
+                || header.get(2) != 8) {
+            return Compression.NONE;
+        }
+        return BgzfChannel.isBgzfHeader(header) ? Compression.BGZF : Compression.GZIP;
+    }
+}
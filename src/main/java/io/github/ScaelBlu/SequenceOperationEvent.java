@@ -0,0 +1,31 @@
+package io.github.ScaelBlu;
+
+import jdk.jfr.*;
+
+/**
+ * A Flight Recorder event emitted by every sequence-processing operation of {@link BioUtils}. The duration of the event is
+ * the duration of the operation. The event is enabled by default, but it costs nothing until a recording is started.
+ */
+@Name("io.github.ScaelBlu.SequenceOperation")
+@Label("Sequence Operation")
+@Description("A sequence-processing operation of BioUtils")
+@Category({"Rosalind", "BioUtils"})
+@StackTrace(false)
+class SequenceOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bytes In")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Records")
+    long records;
+
+    @Label("Bases")
+    long bases;
+
+    @Label("Invalid Symbols")
+    long invalidSymbols;
+}
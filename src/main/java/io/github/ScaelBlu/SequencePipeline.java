@@ -0,0 +1,363 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Chains sequence operations into stages which stream the sequence in {@link SequenceChunk}s instead of materializing
+ * the intermediate results. The stages are {@link ChunkProcessor}s connected by {@link java.util.concurrent.Flow}, so
+ * they run concurrently on the executor of the pipeline and a slow stage slows down the reading of the input instead of
+ * letting the buffers grow. A pipeline holds at most {@code bufferCapacity} chunks per stage in memory.
+ * <p>
+ * The input is a plain sequence; line breaks and other whitespace are dropped. A pipeline is started by one of its
+ * terminal methods and can be run only once:
+ * <pre>{@code
+ * CompletableFuture<long[]> positions = SequencePipeline.of(channel)
+ *         .transcribe()
+ *         .translate(OpenReadingFrame.FIRST, GeneticCodeType.UNIVERSAL, true)
+ *         .findMotif("MK");
+ * }</pre>
+ */
+public final class SequencePipeline {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    public static final int DEFAULT_BUFFER_CAPACITY = 8;
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel input;
+
+    private final Executor executor;
+
+    private final int chunkSize;
+
+    private final int bufferCapacity;
+
+    private final List<Supplier<? extends ChunkProcessor<SequenceChunk, SequenceChunk>>> stages = new ArrayList<>();
+
+    private boolean started;
+
+    private SequencePipeline(ReadableByteChannel input, Executor executor, int chunkSize, int bufferCapacity) {
+        this.input = input;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    /**
+     * Creates a pipeline running on the common fork-join pool with the default chunk size and buffer capacity.
+     * @param input the channel of the sequence. It is not closed by the pipeline.
+     * @return the pipeline without stages.
+     */
+    public static SequencePipeline of(ReadableByteChannel input) {
+        return of(input, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Creates a pipeline.
+     * @param input the channel of the sequence. It is not closed by the pipeline.
+     * @param executor the executor running the source and the stages.
+     * @param chunkSize the number of symbols in a chunk read from the input.
+     * @param bufferCapacity the number of chunks buffered between two stages.
+     * @return the pipeline without stages.
+     */
+    public static SequencePipeline of(ReadableByteChannel input, Executor executor, int chunkSize, int bufferCapacity) {
+        if (chunkSize < 1 || bufferCapacity < 1) {
+            throw new IllegalArgumentException("Chunk size and buffer capacity must be positive.");
+        }
+        return new SequencePipeline(input, executor, chunkSize, bufferCapacity);
+    }
+
+    /**
+     * Adds a stage transcribing DNA into RNA (T -> U). The symbols are validated and upper-cased.
+     * @return this pipeline.
+     */
+    public SequencePipeline transcribe() {
+        return through(() -> new TranscribeProcessor(executor, bufferCapacity));
+    }
+
+    /**
+     * Adds a stage translating RNA into protein. Unlike {@link BioUtils#mRnaTranslator}, the last complete codon is
+     * translated as well. If the translation terminates at a stop codon, the rest of the input is not read.
+     * @param frame the reading frame of translation.
+     * @param codeType determines the rules of codon-amino acid assignment.
+     * @param terminateAtStop the stop codon ends the protein (without its symbol) if true.
+     * @return this pipeline.
+     */
+    public SequencePipeline translate(OpenReadingFrame frame, GeneticCodeType codeType, boolean terminateAtStop) {
+        return through(() -> new TranslateProcessor(executor, bufferCapacity, frame, codeType, terminateAtStop));
+    }
+
+    /**
+     * Adds a custom stage. The stage must keep the positions of its output chunks contiguous.
+     * @param stage creates the processor of the stage when the pipeline starts.
+     * @return this pipeline.
+     */
+    public SequencePipeline through(Supplier<? extends ChunkProcessor<SequenceChunk, SequenceChunk>> stage) {
+        stages.add(stage);
+        return this;
+    }
+
+    /**
+     * Starts the pipeline and delivers the output of the last stage to the given subscriber.
+     * @param subscriber the subscriber of the output chunks.
+     */
+    public void subscribe(Flow.Subscriber<? super SequenceChunk> subscriber) {
+        start(last -> {
+            last.subscribe(subscriber);
+            return null;
+        });
+    }
+
+    /**
+     * Starts the pipeline and collects its output.
+     * @return the future of the output sequence.
+     */
+    public CompletableFuture<String> collect() {
+        final ByteSequence output = new ByteSequence();
+        return start(last -> last.consume(chunk -> output.append(chunk.symbols(), 0, chunk.length())))
+                .thenApply(_ -> output.toString());
+    }
+
+    /**
+     * Starts the pipeline and counts the nucleotides of its output like {@link BioUtils#countDnaNucleotides}.
+     * @return the future of the counts of A, C, G, and T respectively.
+     */
+    public CompletableFuture<String> countDnaNucleotides() {
+        final long[] counts = new long[4];
+        return start(last -> last.consume(chunk -> {
+            final byte[] symbols = chunk.symbols();
+            for (int i = 0; i < symbols.length; i++) {
+                final int code = Alphabet.DNA.encode(symbols[i]);
+                if (code < 0) {
+                    throw Alphabet.DNA.invalidSymbol(symbols[i], chunk.position() + i);
+                }
+                counts[code]++;
+            }
+        })).thenApply(_ -> "%d %d %d %d".formatted(counts[0], counts[1], counts[2], counts[3]));
+    }
+
+    /**
+     * Starts the pipeline and finds all (possibly overlapping) occurrences of a motif in its output. The motif may span
+     * any number of chunks.
+     * @param motif the motif to find.
+     * @return the future of the numbers (not the indices!) of the first symbol of the found motifs in ascending order.
+     */
+    public CompletableFuture<long[]> findMotif(String motif) {
+        if (motif.isEmpty()) {
+            throw new IllegalArgumentException("Motif must not be empty.");
+        }
+        final LongList positions = new LongList();
+        return start(last -> {
+            final MotifProcessor motifs = new MotifProcessor(executor, bufferCapacity, motif);
+            last.subscribe(motifs);
+            return motifs.consume(positions::addAll);
+        }).thenApply(_ -> positions.toArray());
+    }
+
+    private <R> CompletableFuture<R> start(Function<SubmissionPublisher<SequenceChunk>, CompletableFuture<R>> terminal) {
+        final SubmissionPublisher<SequenceChunk> source = new SubmissionPublisher<>(executor, bufferCapacity);
+        final SubmissionPublisher<SequenceChunk> last = connect(source);
+        final CompletableFuture<R> result = terminal.apply(last);
+        executor.execute(() -> feed(source));
+        return result;
+    }
+
+    private SubmissionPublisher<SequenceChunk> connect(SubmissionPublisher<SequenceChunk> source) {
+        if (started) {
+            throw new IllegalStateException("Pipeline has already been started.");
+        }
+        started = true;
+        SubmissionPublisher<SequenceChunk> last = source;
+        for (Supplier<? extends ChunkProcessor<SequenceChunk, SequenceChunk>> stage : stages) {
+            final ChunkProcessor<SequenceChunk, SequenceChunk> processor = stage.get();
+            last.subscribe(processor);
+            last = processor;
+        }
+        return last;
+    }
+
+    /**
+     * Reads the input into chunks of non-whitespace bytes and publishes them. Publishing blocks while the first stage
+     * is saturated, and the reading stops early if every stage cancelled its subscription.
+     */
+    private void feed(SubmissionPublisher<SequenceChunk> source) {
+        final OperationProbe probe = OperationProbe.start("SequencePipeline");
+        try {
+            final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            final byte[] bytes = buffer.array();
+            byte[] chunk = new byte[chunkSize];
+            int size = 0;
+            long position = 0;
+            int count;
+            while (source.hasSubscribers() && (count = input.read(buffer.clear())) != -1) {
+                probe.bytesIn(count);
+                for (int i = 0; i < count; i++) {
+                    if (bytes[i] > ' ') {
+                        chunk[size++] = bytes[i];
+                        if (size == chunkSize) {
+                            source.submit(new SequenceChunk(position, chunk));
+                            position += size;
+                            chunk = new byte[chunkSize];
+                            size = 0;
+                        }
+                    }
+                }
+            }
+            if (size > 0) {
+                source.submit(new SequenceChunk(position, Arrays.copyOf(chunk, size)));
+                position += size;
+            }
+            probe.record();
+            probe.bases(position);
+            source.close();
+        } catch (IOException | RuntimeException e) {
+            source.closeExceptionally(e);
+        } finally {
+            probe.finish();
+        }
+    }
+
+    /**
+     * Transcribes DNA chunks into RNA chunks of the same position.
+     */
+    private static final class TranscribeProcessor extends ChunkProcessor<SequenceChunk, SequenceChunk> {
+
+        private TranscribeProcessor(Executor executor, int bufferCapacity) {
+            super(executor, bufferCapacity);
+        }
+
+        @Override
+        protected void process(SequenceChunk chunk) {
+            final byte[] dna = chunk.symbols();
+            final byte[] rna = new byte[dna.length];
+            for (int i = 0; i < dna.length; i++) {
+                final byte nucleotide = Alphabet.DNA.fold(dna[i]);
+                if (nucleotide == 0) {
+                    throw Alphabet.DNA.invalidSymbol(dna[i], chunk.position() + i);
+                }
+                rna[i] = nucleotide == 'T' ? (byte) 'U' : nucleotide;
+            }
+            submit(new SequenceChunk(chunk.position(), rna));
+        }
+    }
+
+    /**
+     * Translates RNA chunks into protein chunks. A codon may span two chunks, so its first nucleotides are carried
+     * over as a 2-bit packed code. The codon table is indexed by the packed codons.
+     */
+    private static final class TranslateProcessor extends ChunkProcessor<SequenceChunk, SequenceChunk> {
+
+        private final byte[] aminoAcids = new byte[64];
+
+        private final boolean terminateAtStop;
+
+        private long skipped;
+
+        private int codon;
+
+        private int codonLength;
+
+        private long position;
+
+        private TranslateProcessor(Executor executor, int bufferCapacity, OpenReadingFrame frame,
+                                   GeneticCodeType codeType, boolean terminateAtStop) {
+            super(executor, bufferCapacity);
+            this.terminateAtStop = terminateAtStop;
+            this.skipped = frame.getOffset();
+            BioUtils.getCodonTable(codeType).forEach((codon, unit) -> {
+                int code = 0;
+                for (int i = 0; i < codon.length(); i++) {
+                    code = code << 2 | Alphabet.RNA.encode(codon.charAt(i));
+                }
+                aminoAcids[code] = (byte) unit.getSymbol().charAt(0);
+            });
+        }
+
+        @Override
+        protected void process(SequenceChunk chunk) {
+            final byte[] rna = chunk.symbols();
+            final byte[] protein = new byte[(rna.length + codonLength) / 3];
+            int size = 0;
+            boolean stopped = false;
+            for (int i = 0; i < rna.length && !stopped; i++) {
+                final int code = Alphabet.RNA.encode(rna[i]);
+                if (code < 0) {
+                    throw Alphabet.RNA.invalidSymbol(rna[i], chunk.position() + i);
+                }
+                if (skipped > 0) {
+                    skipped--;
+                } else if (++codonLength < 3) {
+                    codon = codon << 2 | code;
+                } else {
+                    final byte aminoAcid = aminoAcids[codon << 2 | code];
+                    codon = 0;
+                    codonLength = 0;
+                    if (terminateAtStop && aminoAcid == '*') {
+                        stopped = true;
+                    } else {
+                        protein[size++] = aminoAcid;
+                    }
+                }
+            }
+            if (size > 0) {
+                submit(new SequenceChunk(position, size == protein.length ? protein : Arrays.copyOf(protein, size)));
+                position += size;
+            }
+            if (stopped) {
+                stop();
+            }
+        }
+    }
+
+    /**
+     * Finds the occurrences of a motif in the chunks. The last motif length - 1 symbols are carried over to the next
+     * chunk, so the occurrences spanning a chunk border are found exactly once.
+     */
+    private static final class MotifProcessor extends ChunkProcessor<SequenceChunk, LongList> {
+
+        private final byte[] motif;
+
+        private byte[] tail = new byte[0];
+
+        private MotifProcessor(Executor executor, int bufferCapacity, String motif) {
+            super(executor, bufferCapacity);
+            this.motif = motif.getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        protected void process(SequenceChunk chunk) {
+            final byte[] window = new byte[tail.length + chunk.length()];
+            System.arraycopy(tail, 0, window, 0, tail.length);
+            System.arraycopy(chunk.symbols(), 0, window, tail.length, chunk.length());
+            final long start = chunk.position() - tail.length;
+            final LongList positions = new LongList();
+            for (int i = 0; i <= window.length - motif.length; i++) {
+                int matched = 0;
+                while (matched < motif.length && window[i + matched] == motif[matched]) {
+                    matched++;
+                }
+                if (matched == motif.length) {
+                    positions.add(start + i + 1);
+                }
+            }
+            if (!positions.isEmpty()) {
+                submit(positions);
+            }
+            tail = Arrays.copyOfRange(window, Math.max(0, window.length - (motif.length - 1)), window.length);
+        }
+    }
+}
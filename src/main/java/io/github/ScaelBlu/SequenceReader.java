@@ -0,0 +1,336 @@
+package io.github.ScaelBlu;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A streaming reader of FASTA and FASTQ files. The format is detected from the first non-blank character. The reader
+ * works on raw bytes from a channel and fills a single reusable {@link SequenceRecord}, so reading a record does not
+ * allocate anything once the buffers have grown to the size of the longest record.
+ * <pre>
+ * try (SequenceReader reader = new SequenceReader(channel)) {
+ *     while (reader.next()) {
+ *         SequenceRecord record = reader.getRecord();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class SequenceReader implements Closeable {
+
+    public enum Format {
+        FASTA, FASTQ
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final int EOF = -1;
+
+    /**
+     * Receives the bases of a record as they are read.
+     */
+    @FunctionalInterface
+    interface BaseSink {
+
+        /**
+         * @param source the buffer holding the bases.
+         * @param offset the index of the first base in the buffer.
+         * @param count the number of bases.
+         */
+        void append(byte[] source, int offset, int count);
+    }
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final byte[] bytes;
+
+    private final SequenceRecord record = new SequenceRecord();
+
+    private final BaseSink recordSink = record.getSequence()::append;
+
+    private Format format;
+
+    private boolean headerPending;
+
+    private long bytesRead;
+
+    public SequenceReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SequenceReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bytes = new byte[bufferSize];
+        this.buffer = ByteBuffer.wrap(bytes).limit(0);
+    }
+
+    /**
+     * Creates a reader on top of a character stream. The characters are narrowed to bytes, which is lossless for the
+     * ASCII content of sequence files. Characters above 0xFF become {@code ?}, which no {@link Alphabet} accepts, so
+     * they are still rejected as sequence symbols. It lets the existing {@link java.io.BufferedReader} based methods
+     * share the parser.
+     * @param reader the character stream.
+     * @return a sequence reader.
+     */
+    public static SequenceReader of(Reader reader) {
+        return new SequenceReader(new ReaderChannel(reader));
+    }
+
+    /**
+     * Advances to the next record.
+     * @return true if a record has been read, false at the end of the input.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if the input is not a valid FASTA or FASTQ file.
+     */
+    public boolean next() throws IOException {
+        return next(recordSink);
+    }
+
+    /**
+     * Advances to the next record, but hands the bases to the sink instead of collecting them in the record. The bases
+     * of a FASTA record are passed on while they are read, so a record is not limited by the size of a heap array; the
+     * bases of a FASTQ record are collected first, because they are checked against the quality.
+     * @param sink the receiver of the bases.
+     * @return true if a record has been read, false at the end of the input.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if the input is not a valid FASTA or FASTQ file.
+     */
+    boolean next(BaseSink sink) throws IOException {
+        record.clear();
+        if (!headerPending) {
+            final int first = skipWhitespace();
+            if (first == EOF) {
+                return false;
+            }
+            final Format actual = switch (first) {
+                case '>' -> Format.FASTA;
+                case '@' -> Format.FASTQ;
+                default -> throw new IllegalArgumentException("Invalid record start: %s".formatted((char) first));
+            };
+            if (format == null) {
+                format = actual;
+            } else if (format != actual) {
+                throw new IllegalArgumentException("Mixed FASTA and FASTQ records.");
+            }
+        }
+        headerPending = false;
+        readLine(record.getHeader());
+        record.getHeader().stripTrailing();
+        if (format == Format.FASTA) {
+            readFastaSequence(sink);
+        } else {
+            readFastqSequenceAndQuality();
+            if (sink != recordSink) {
+                sink.append(record.getSequence().array(), 0, record.getSequence().length());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the current record. The same instance is refilled by every call of {@link #next()}.
+     * @return the current record.
+     */
+    public SequenceRecord getRecord() {
+        return record;
+    }
+
+    /**
+     * Returns the format detected at the first record.
+     * @return the format, or null before the first record.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the number of bytes consumed from the input so far.
+     * @return the number of bytes read.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the sequence lines up to the next header line (whose marker is consumed) or the end of the input.
+     */
+    private void readFastaSequence(BaseSink sequence) throws IOException {
+        boolean lineStart = true;
+        while (fill()) {
+            final int limit = buffer.limit();
+            int position = buffer.position();
+            if (lineStart && bytes[position] == '>') {
+                buffer.position(position + 1);
+                headerPending = true;
+                return;
+            }
+            int runStart = position;
+            while (position < limit) {
+                final byte b = bytes[position];
+                if (b <= ' ') {
+                    sequence.append(bytes, runStart, position - runStart);
+                    runStart = position + 1;
+                    if (b == '\n') {
+                        lineStart = true;
+                        if (position + 1 < limit && bytes[position + 1] == '>') {
+                            buffer.position(position + 2);
+                            headerPending = true;
+                            return;
+                        }
+                    }
+                } else {
+                    lineStart = false;
+                }
+                position++;
+            }
+            sequence.append(bytes, runStart, position - runStart);
+            buffer.position(position);
+        }
+    }
+
+    /**
+     * Reads the sequence lines up to the separator line, then the same number of quality symbols.
+     */
+    private void readFastqSequenceAndQuality() throws IOException {
+        final ByteSequence sequence = record.getSequence();
+        int b;
+        while ((b = skipWhitespace()) != '+') {
+            if (b == EOF) {
+                throw new IllegalArgumentException("Missing quality of record: %s".formatted(record.getHeader()));
+            }
+            sequence.append((byte) b);
+            readLine(sequence);
+            sequence.stripTrailing();
+        }
+        skipLine();
+        final ByteSequence quality = record.getQuality();
+        while (quality.length() < sequence.length()) {
+            b = skipWhitespace();
+            if (b == EOF) {
+                break;
+            }
+            quality.append((byte) b);
+            readLine(quality);
+            quality.stripTrailing();
+        }
+        if (quality.length() != sequence.length()) {
+            throw new IllegalArgumentException("Quality and sequence lengths differ in record: %s"
+                    .formatted(record.getHeader()));
+        }
+    }
+
+    /**
+     * Appends the rest of the current line (without the line feed) to the target.
+     */
+    private void readLine(ByteSequence target) throws IOException {
+        while (fill()) {
+            final int limit = buffer.limit();
+            final int start = buffer.position();
+            int position = start;
+            while (position < limit && bytes[position] != '\n') {
+                position++;
+            }
+            target.append(bytes, start, position - start);
+            if (position < limit) {
+                buffer.position(position + 1);
+                return;
+            }
+            buffer.position(position);
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int b;
+        while ((b = read()) != EOF && b != '\n') {
+            // skipping the optional repetition of the header after the separator
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int b;
+        while ((b = read()) != EOF && b <= ' ') {
+            // skipping blank lines and indentation
+        }
+        return b;
+    }
+
+    private int read() throws IOException {
+        if (!fill()) {
+            return EOF;
+        }
+        final int position = buffer.position();
+        buffer.position(position + 1);
+        return bytes[position] & 0xFF;
+    }
+
+    /**
+     * Makes sure that the buffer has unread bytes.
+     * @return false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        while (!buffer.hasRemaining()) {
+            buffer.clear();
+            final int count = channel.read(buffer);
+            buffer.flip();
+            if (count == EOF) {
+                return false;
+            }
+            bytesRead += count;
+        }
+        return true;
+    }
+
+    /**
+     * Adapts a character stream to a byte channel by narrowing every Latin-1 character to its byte.
+     */
+    private static final class ReaderChannel implements ReadableByteChannel {
+
+        /**
+         * Replaces the characters without a single-byte form, so they cannot alias a symbol through their low byte.
+         */
+        private static final byte UNMAPPABLE = '?';
+
+        private final Reader reader;
+
+        private char[] chars = new char[0];
+
+        private boolean open = true;
+
+        private ReaderChannel(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            if (chars.length < target.remaining()) {
+                chars = new char[target.remaining()];
+            }
+            final int count = reader.read(chars, 0, target.remaining());
+            for (int i = 0; i < count; i++) {
+                target.put(chars[i] > 0xFF ? UNMAPPABLE : (byte) chars[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            open = false;
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.ScaelBlu;
+
+import lombok.Getter;
+
+/**
+ * A reusable view of a FASTA or FASTQ record produced by the {@link SequenceReader}. The header is the label line without
+ * the leading {@code >} or {@code @}, the sequence is the concatenation of the sequence lines without whitespace, and the
+ * quality is only filled for FASTQ records. All the three are overwritten when the reader advances.
+ */
+@Getter
+public final class SequenceRecord {
+
+    private final ByteSequence header = new ByteSequence();
+
+    private final ByteSequence sequence = new ByteSequence(1 << 12);
+
+    private final ByteSequence quality = new ByteSequence();
+
+    void clear() {
+        header.clear();
+        sequence.clear();
+        quality.clear();
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.ScaelBlu;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only view of bases in a {@link SequenceStore}. Positions and lengths are longs, so a slice can be longer than
+ * {@link Integer#MAX_VALUE} bases. The view is valid as long as its store is open.
+ * @param segment the memory holding the ASCII bases.
+ */
+public record SequenceSlice(MemorySegment segment) {
+
+    public SequenceSlice {
+        segment = segment.asReadOnly();
+    }
+
+    /**
+     * Wraps heap bytes, mainly for tests and small inputs.
+     * @param bases the ASCII bases.
+     * @return a slice over the given array.
+     */
+    public static SequenceSlice of(byte[] bases) {
+        return new SequenceSlice(MemorySegment.ofArray(bases));
+    }
+
+    public long length() {
+        return segment.byteSize();
+    }
+
+    public byte byteAt(long index) {
+        return segment.get(ValueLayout.JAVA_BYTE, index);
+    }
+
+    /**
+     * Creates a sub-view without copying.
+     * @param from the first position (inclusive).
+     * @param to the last position (exclusive).
+     * @return the view of the given range.
+     */
+    public SequenceSlice slice(long from, long to) {
+        return new SequenceSlice(segment.asSlice(from, to - from));
+    }
+
+    /**
+     * Copies the bases to the heap.
+     * @return the bases as a string.
+     * @throws IllegalStateException if the slice is too long for a string.
+     */
+    @Override
+    public String toString() {
+        if (length() > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Slice is too long for a string: %d".formatted(length()));
+        }
+        return new String(segment.toArray(ValueLayout.JAVA_BYTE), StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the records of a FASTA file outside of the Java heap. The bases of all records are stored back to back in one
+ * {@link MemorySegment} (without line breaks), and an offset table marks the start of every record, so only the headers
+ * and the offsets live on the heap. A store is either loaded into native memory, or mapped from a file written by
+ * {@link #save(Path)}, in which case the operating system pages the bases in on demand.
+ * <p>
+ * The records are exposed as {@link SequenceSlice} views which can be read by several threads at once. Closing the store
+ * releases the memory and invalidates the slices.
+ */
+public class SequenceStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x31515352; // "RSQ1"
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final long INITIAL_CAPACITY = 1 << 20;
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private static final int WRITE_CHUNK_SIZE = 1 << 30;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private Arena arena;
+
+    private MemorySegment data;
+
+    private long size;
+
+    private final LongList offsets = new LongList();
+
+    private final List<String> headers = new ArrayList<>();
+
+    private SequenceStore(Arena arena, MemorySegment data) {
+        this.arena = arena;
+        this.data = data;
+    }
+
+    /**
+     * Loads every record of a FASTA input into native memory. The records may be longer than
+     * {@link Integer#MAX_VALUE} bases. The input is parsed by {@link SequenceReader}, so it follows the same rules for
+     * headers, whitespace and invalid input as the other readers.
+     * @param fasta the channel of the FASTA input. It is not closed by this method.
+     * @return the store holding the records.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static SequenceStore load(ReadableByteChannel fasta) throws IOException {
+        final Arena arena = Arena.ofShared();
+        final SequenceStore store = new SequenceStore(arena, arena.allocate(INITIAL_CAPACITY, 1));
+        try {
+            store.read(fasta);
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Maps a store file written by {@link #save(Path)}. The bases are not read into memory.
+     * @param path the path of the store file.
+     * @return the mapped store.
+     * @throws IOException if an I/O error occurs or the file is not a store file.
+     */
+    public static SequenceStore map(Path path) throws IOException {
+        final Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (file.byteSize() < HEADER_SIZE || file.get(INT, 0) != MAGIC) {
+                throw new IOException("Not a sequence store file: %s".formatted(path));
+            }
+            final int recordCount = file.get(INT, 4);
+            final long totalBases = file.get(LONG, 8);
+            long position = HEADER_SIZE;
+            final SequenceStore store = new SequenceStore(arena, null);
+            for (int i = 0; i <= recordCount; i++) {
+                store.offsets.add(file.get(LONG, position + 8L * i));
+            }
+            position += 8L * (recordCount + 1);
+            for (int i = 0; i < recordCount; i++) {
+                final int length = file.get(INT, position);
+                final byte[] header = file.asSlice(position + 4, length).toArray(ValueLayout.JAVA_BYTE);
+                store.headers.add(new String(header, StandardCharsets.ISO_8859_1));
+                position += 4 + length;
+            }
+            store.data = file.asSlice(position, totalBases);
+            store.size = totalBases;
+            return store;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the store into a file which can be mapped later.
+     * @param path the path of the store file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void save(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer index = ByteBuffer.allocate(HEADER_SIZE + 8 * offsets.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            index.putInt(MAGIC).putInt(headers.size()).putLong(size);
+            for (int i = 0; i < offsets.size(); i++) {
+                index.putLong(offsets.get(i));
+            }
+            writeFully(channel, index.flip());
+            for (String header : headers) {
+                final byte[] bytes = header.getBytes(StandardCharsets.ISO_8859_1);
+                writeFully(channel, ByteBuffer.allocate(4 + bytes.length).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(bytes.length).put(bytes).flip());
+            }
+            for (long position = 0; position < size; position += WRITE_CHUNK_SIZE) {
+                writeFully(channel, data.asSlice(position, Math.min(WRITE_CHUNK_SIZE, size - position)).asByteBuffer());
+            }
+        }
+    }
+
+    public int getRecordCount() {
+        return headers.size();
+    }
+
+    public long getTotalBases() {
+        return size;
+    }
+
+    public String getHeader(int record) {
+        return headers.get(record);
+    }
+
+    /**
+     * Returns the bases of a record.
+     * @param record the index of the record.
+     * @return a view of the bases.
+     */
+    public SequenceSlice get(int record) {
+        if (record < 0 || record >= headers.size()) {
+            throw new IndexOutOfBoundsException(record);
+        }
+        final long start = offsets.get(record);
+        return new SequenceSlice(data.asSlice(start, offsets.get(record + 1) - start));
+    }
+
+    /**
+     * Releases the memory (or the mapping) of the store.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+        }
+    }
+
+    /**
+     * Parses the input with a {@link SequenceReader}, which hands the bases over buffer by buffer, so they are copied
+     * off-heap without collecting a record on the heap first. The offset table gets the start of every record and the
+     * end of the last one.
+     */
+    private void read(ReadableByteChannel fasta) throws IOException {
+        final SequenceReader reader = new SequenceReader(fasta, READ_BUFFER_SIZE);
+        final SequenceReader.BaseSink bases = this::appendBases;
+        for (long start = size; reader.next(bases); start = size) {
+            offsets.add(start);
+            headers.add(reader.getRecord().getHeader().toString());
+        }
+        offsets.add(size);
+    }
+
+    private void appendBases(byte[] source, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+        if (size + length > data.byteSize()) {
+            grow(size + length);
+        }
+        MemorySegment.copy(source, offset, data, ValueLayout.JAVA_BYTE, size, length);
+        size += length;
+    }
+
+    /**
+     * Moves the bases into a new arena with at least twice the capacity and releases the old one.
+     */
+    private void grow(long required) {
+        final Arena grown = Arena.ofShared();
+        final MemorySegment larger = grown.allocate(Math.max(required, data.byteSize() * 2), 1);
+        MemorySegment.copy(data, 0, larger, 0, size);
+        arena.close();
+        arena = grown;
+        data = larger;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
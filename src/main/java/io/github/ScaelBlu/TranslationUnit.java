@@ -3,8 +3,6 @@ package io.github.ScaelBlu;
 import java.util.Arrays;
 import java.util.Optional;
 
-import static io.github.ScaelBlu.BioUtils.RIBONUCLEOTIDES;
-
 /**
  * Represents the mobile carrier building blocks of the translation like tRNA's and release factors.
  */
@@ -12,7 +10,7 @@ public interface TranslationUnit {
 
     static TranslationUnit of(String codon, GeneticCodeType codeType) {
         for (char nucleotide : codon.toCharArray()) {
-            if (!RIBONUCLEOTIDES.contains(nucleotide)) {
+            if (!Alphabet.RNA.isValid(nucleotide) || Alphabet.RNA.fold(nucleotide) != nucleotide) {
                 throw new IllegalArgumentException("Invalid codon: %s.".formatted(codon));
             }
         }
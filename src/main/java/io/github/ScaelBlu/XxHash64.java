@@ -0,0 +1,157 @@
+package io.github.ScaelBlu;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The 64-bit xxHash (XXH64) of a byte stream, computed incrementally. It is not a cryptographic hash, but it reads
+ * several gigabytes per second, so hashing an input file costs a fraction of analysing it.
+ */
+final class XxHash64 {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private static final int STRIPE_SIZE = 32;
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long seed;
+
+    private long v1;
+
+    private long v2;
+
+    private long v3;
+
+    private long v4;
+
+    private final byte[] buffer = new byte[STRIPE_SIZE];
+
+    private int bufferSize;
+
+    private long length;
+
+    XxHash64(long seed) {
+        this.seed = seed;
+        this.v1 = seed + PRIME1 + PRIME2;
+        this.v2 = seed + PRIME2;
+        this.v3 = seed;
+        this.v4 = seed - PRIME1;
+    }
+
+    static long hash(byte[] data) {
+        return new XxHash64(0).update(data, 0, data.length).digest();
+    }
+
+    /**
+     * Hashes the content of a file with seed 0.
+     * @param path the path of the file.
+     * @return the hash of the file content.
+     * @throws IOException if an I/O error occurs.
+     */
+    static long hash(Path path) throws IOException {
+        final XxHash64 hash = new XxHash64(0);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer bytes = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            int count;
+            while ((count = channel.read(bytes.clear())) != -1) {
+                hash.update(bytes.array(), 0, count);
+            }
+        }
+        return hash.digest();
+    }
+
+    XxHash64 update(byte[] data, int offset, int count) {
+        length += count;
+        if (bufferSize + count < STRIPE_SIZE) {
+            System.arraycopy(data, offset, buffer, bufferSize, count);
+            bufferSize += count;
+            return this;
+        }
+        if (bufferSize > 0) {
+            final int fill = STRIPE_SIZE - bufferSize;
+            System.arraycopy(data, offset, buffer, bufferSize, fill);
+            processStripe(buffer, 0);
+            offset += fill;
+            count -= fill;
+            bufferSize = 0;
+        }
+        for (; count >= STRIPE_SIZE; offset += STRIPE_SIZE, count -= STRIPE_SIZE) {
+            processStripe(data, offset);
+        }
+        System.arraycopy(data, offset, buffer, 0, count);
+        bufferSize = count;
+        return this;
+    }
+
+    /**
+     * Finishes the hash. The state is not modified, so more bytes can be added afterwards.
+     * @return the hash of the bytes added so far.
+     */
+    long digest() {
+        long hash;
+        if (length >= STRIPE_SIZE) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = seed + PRIME5;
+        }
+        hash += length;
+        int i = 0;
+        for (; i + 8 <= bufferSize; i += 8) {
+            hash ^= round(0, (long) LONG.get(buffer, i));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+        }
+        if (i + 4 <= bufferSize) {
+            hash ^= ((int) INT.get(buffer, i) & 0xFFFFFFFFL) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            i += 4;
+        }
+        for (; i < bufferSize; i++) {
+            hash ^= (buffer[i] & 0xFF) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+        }
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private void processStripe(byte[] data, int offset) {
+        v1 = round(v1, (long) LONG.get(data, offset));
+        v2 = round(v2, (long) LONG.get(data, offset + 8));
+        v3 = round(v3, (long) LONG.get(data, offset + 16));
+        v4 = round(v4, (long) LONG.get(data, offset + 24));
+    }
+
+    private static long round(long accumulator, long lane) {
+        return Long.rotateLeft(accumulator + lane * PRIME2, 31) * PRIME1;
+    }
+
+    private static long mergeRound(long hash, long value) {
+        return (hash ^ round(0, value)) * PRIME1 + PRIME4;
+    }
+}
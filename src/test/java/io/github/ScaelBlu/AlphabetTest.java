@@ -0,0 +1,61 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphabetTest {
+
+    @Test
+    void testFoldAndValidate() {
+        assertEquals('A', Alphabet.DNA.fold('a'));
+        assertEquals('T', Alphabet.DNA.fold('T'));
+        assertEquals(0, Alphabet.DNA.fold('U'));
+        assertEquals(0, Alphabet.DNA.fold('Ł'));
+        assertTrue(Alphabet.RNA.isValid('u'));
+        assertFalse(Alphabet.RNA.isValid('T'));
+        assertTrue(Alphabet.IUPAC_DNA.isValid('n'));
+        assertTrue(Alphabet.PROTEIN.isValid('*'));
+        assertFalse(Alphabet.PROTEIN.isValid('B'));
+    }
+
+    @Test
+    void testComplement() {
+        assertEquals('T', Alphabet.DNA.complement('a'));
+        assertEquals('C', Alphabet.DNA.complement('G'));
+        assertEquals('A', Alphabet.RNA.complement('U'));
+        assertEquals('Y', Alphabet.IUPAC_DNA.complement('r'));
+        assertEquals('N', Alphabet.IUPAC_DNA.complement('N'));
+        assertEquals(0, Alphabet.DNA.complement('N'));
+        assertEquals(0, Alphabet.PROTEIN.complement('A'));
+    }
+
+    @Test
+    void testEncodeAndDecode() {
+        for (int code = 0; code < 4; code++) {
+            final char base = Alphabet.DNA.decode(code);
+            assertEquals(code, Alphabet.DNA.encode(base));
+            assertEquals(code, Alphabet.DNA.encode(Character.toLowerCase(base)));
+            assertEquals(3 - code, Alphabet.DNA.encode(Alphabet.DNA.complement(base)));
+        }
+        assertEquals(3, Alphabet.RNA.encode('U'));
+        assertEquals(-1, Alphabet.IUPAC_DNA.encode('N'));
+        assertEquals(-1, Alphabet.PROTEIN.encode('A'));
+    }
+
+    @Test
+    void testInvalidSymbol() {
+        Alphabet.DNA.validate("ACGTacgt", 0);
+        final IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> Alphabet.DNA.validate("ACGU", 10));
+        assertEquals("Invalid nucleotide: U at pos: 13", iae.getMessage());
+    }
+
+    @Test
+    void testCodonValidation() {
+        assertTrue(TranslationUnit.of("AUG", GeneticCodeType.UNIVERSAL).getAminoAcid().isPresent());
+        assertThrows(IllegalArgumentException.class, () -> TranslationUnit.of("AU\0", GeneticCodeType.UNIVERSAL));
+        assertThrows(IllegalArgumentException.class, () -> TranslationUnit.of("aug", GeneticCodeType.UNIVERSAL));
+        assertThrows(IllegalArgumentException.class, () -> TranslationUnit.of("ATG", GeneticCodeType.UNIVERSAL));
+    }
+}
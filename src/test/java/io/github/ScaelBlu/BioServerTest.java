@@ -0,0 +1,132 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class BioServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testOperations(@InputFile("/01-nucleotide-counting.txt") String dna,
+                        @InputFile("/05-rosalind-sample1.fasta") String fasta,
+                        @InputFile("/05-expected.txt") String gcContent,
+                        @InputFile("/09-sequence-and-motif-to-find.txt") String motifInput) throws Exception {
+        try (BioServer server = start(4)) {
+            assertEquals("198 220 196 212", post(server, "/count", dna).body());
+            assertEquals("ACCGGGTTTT", post(server, "/reverse-complement", "aaaacccggt").body());
+            assertEquals(gcContent, post(server, "/gc", fasta).body());
+            assertEquals("7", post(server, "/hamming", "GAGCCTACTAACGGGAT\nCATCGTAATGACGGCCT").body());
+            assertEquals("MA", post(server, "/translate", "AUGGCC").body());
+            assertEquals("MA*", post(server, "/translate?frame=SECOND", "UAUGGCCUGA").body());
+            assertEquals("MA", post(server, "/translate?terminateAtStop=true", "AUGGCCUAAGG").body());
+            assertEquals("2 4 10", post(server, "/motifs?motif=ATAT", "GATATATGCATATACTT").body());
+            assertEquals("31 60 131 179 300 317 338 345 352 359 409 527 631 649 656 741 748 806 836 843 859 880",
+                    post(server, "/motifs", motifInput).body());
+            assertTrue(get(server, "/metrics").body().contains("countDnaNucleotides.calls"));
+        }
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        try (BioServer server = start(1)) {
+            assertEquals(404, post(server, "/unknown", "ACGT").statusCode());
+            assertEquals(405, get(server, "/count").statusCode());
+            final HttpResponse<String> response = post(server, "/count", "ACGU");
+            assertEquals(400, response.statusCode());
+            assertEquals("Invalid nucleotide: U at pos: 3", response.body());
+            assertEquals(400, post(server, "/translate?frame=FOURTH", "AUG").statusCode());
+            assertEquals("Two DNA strands are required.", post(server, "/hamming", "GAGCCTACT\n").body());
+            assertEquals("Missing motif line.", post(server, "/motifs", "GATATATGCATATACTT").body());
+            assertEquals(400, post(server, "/motifs", "GATATATGCATATACTT\n\n").statusCode());
+            assertEquals(400, post(server, "/hamming", "").statusCode());
+            assertEquals(0, server.getActiveRequests());
+        }
+    }
+
+    /**
+     * The held request blocks in a body read which pins the carrier of a virtual thread before JDK 24, so the test uses
+     * platform threads to stay independent of the number of carriers.
+     */
+    @Test
+    void testConcurrencyLimit() throws Exception {
+        try (BioServer server = BioServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1,
+                Executors.newCachedThreadPool());
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            final OutputStream out = socket.getOutputStream();
+            out.write("POST /count HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\nContent-Length: 8\r\n\r\nACGT\n"
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            while (server.getActiveRequests() == 0) {
+                Thread.sleep(10);
+            }
+            final HttpResponse<String> rejected = post(server, "/count", "ACGT");
+            assertEquals(503, rejected.statusCode());
+            assertEquals("1", rejected.headers().firstValue("Retry-After").orElseThrow());
+            out.write("TT\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            final String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+            assertTrue(response.startsWith("HTTP/1.1 200"));
+            assertTrue(response.endsWith("\r\n\r\n1 1 1 3"));
+        }
+    }
+
+    /**
+     * Every pending request holds a worker of the fixed pool, so the pipelines must not need the pool as well.
+     */
+    @Test
+    void testMotifsOnFixedPool() throws Exception {
+        try (BioServer server = BioServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 8,
+                Executors.newFixedThreadPool(2))) {
+            final List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(client.sendAsync(request(server, "/motifs?motif=ATAT")
+                        .POST(HttpRequest.BodyPublishers.ofString("GATATATGCATATACTT")).build(),
+                        HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals("2 4 10", response.get(30, TimeUnit.SECONDS).body());
+            }
+        }
+    }
+
+    private static BioServer start(int maxConcurrentRequests) throws IOException {
+        return BioServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), maxConcurrentRequests);
+    }
+
+    private HttpResponse<String> post(BioServer server, String path, String body)
+            throws IOException, InterruptedException {
+        return client.send(request(server, path).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(BioServer server, String path) throws IOException, InterruptedException {
+        return client.send(request(server, path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.Builder request(BioServer server, String path) {
+        // the server binds the loopback address only, which localhost may not resolve to first
+        final String host = InetAddress.getLoopbackAddress().getHostAddress();
+        return HttpRequest.newBuilder(URI.create("http://%s:%d%s"
+                .formatted(host.contains(":") ? "[" + host + "]" : host, server.getPort(), path)));
+    }
+}
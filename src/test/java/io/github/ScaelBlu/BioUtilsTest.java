@@ -8,6 +8,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -27,6 +28,10 @@ class BioUtilsTest {
     void testTranscribeDnaToRna(@InputFile("/02-transcribe-dna-to-rna.txt") BufferedReader dna,
                                 @InputFile("/02-expected.txt") String rna) {
         assertEquals(rna, BioUtils.transcribeDnaToRna(dna));
+        assertEquals("ACGUU", BioUtils.transcribeDnaToRna(new BufferedReader(new StringReader("acg\ntT\n"))));
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BioUtils.transcribeDnaToRna(new BufferedReader(new StringReader("ACG\nTU\n"))));
+        assertEquals("Invalid nucleotide: U at pos: 4", e.getMessage());
     }
 
     //Exercise 3: Complementing a Strand of DNA
@@ -53,6 +58,17 @@ class BioUtilsTest {
             assertEquals(expectedOutput, BioUtils.findHighestGcContent((input)));
     }
 
+    @Test
+    void testGcComparisonOfLongRecords() {
+        final BioUtils.GcContent threeQuarters = new BioUtils.GcContent("a", 3_000_000_000L, 4_000_000_000L);
+        assertFalse(threeQuarters.isLowerThan(2_000_000_000L, 4_000_000_000L));
+        assertTrue(threeQuarters.isLowerThan(3_000_000_001L, 4_000_000_000L));
+        assertFalse(threeQuarters.isLowerThan(3_000_000_000L, 4_000_000_000L));
+        final BioUtils.GcContent third = new BioUtils.GcContent("b", 2_000_000_000L, 6_000_000_000L);
+        assertTrue(third.isLowerThan(5_000_000_000L, 6_000_000_000L));
+        assertFalse(third.isLowerThan(1, 3));
+    }
+
     //Exercise 6: Counting Point Mutations
     @Test
     void testPointMutationCounter(@InputFile("/06-sequences-to-compare.txt") BufferedReader strands) throws IOException {
@@ -71,9 +87,14 @@ class BioUtilsTest {
 
     //Exercise 8: Translating RNA into Protein
     @Test
-    void testRnaTranslation(@InputFile("/08-mRNA-to-translate.txt") BufferedReader mRNA,
+    void testRnaTranslation(@InputFile("/08-mRNA-to-translate.txt") String mRNA,
                             @InputFile("/08-protein-sequence.txt") String expected) {
-        assertEquals(expected, BioUtils.mRnaTranslator(mRNA, OpenReadingFrame.FIRST, GeneticCodeType.UNIVERSAL, false));
+        assertEquals(expected, translate(mRNA, OpenReadingFrame.FIRST, true));
+        assertEquals(expected + "*", translate(mRNA, OpenReadingFrame.FIRST, false));
+        assertEquals("MA", translate("AUGGCC", OpenReadingFrame.FIRST, false));
+        assertEquals("MA", translate("AUGGCCUAAGG", OpenReadingFrame.FIRST, true));
+        assertEquals("MA*G", translate("AUGGCCUAAGG\nG", OpenReadingFrame.FIRST, false));
+        assertEquals("MA", translate("UUAUGGCCU", OpenReadingFrame.THIRD, false));
     }
 
     //Exercise 9: Finding a Motif in DNA
@@ -88,5 +109,20 @@ class BioUtilsTest {
     void testtest(@InputFile("/10-fasta-sequences.fasta") BufferedReader input,
                   @InputFile("/10-expected-output.txt") String expected) throws IOException {
         assertEquals(expected, BioUtils.createConsensusSequence(input));
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BioUtils.createConsensusSequence(new BufferedReader(new StringReader(">1\nACGT\n>2\nACNT\n"))));
+        assertEquals("Invalid nucleotide: N at pos: 6", e.getMessage());
+    }
+
+    //Exercise 11: Locating Restriction Sites
+    @Test
+    void testRestrictionSiteLocator(@InputFile("/11-restriction-sites.fasta") BufferedReader input,
+                                    @InputFile("/11-expected.txt") String expected) throws IOException {
+        assertEquals(expected, BioUtils.locateRestrictionSites(input));
+    }
+
+    private static String translate(String mRNA, OpenReadingFrame frame, boolean terminateAtStop) {
+        return BioUtils.mRnaTranslator(new BufferedReader(new StringReader(mRNA)), frame, GeneticCodeType.UNIVERSAL,
+                terminateAtStop);
     }
 }
\ No newline at end of file
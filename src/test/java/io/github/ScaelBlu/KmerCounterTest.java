@@ -0,0 +1,145 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KmerCounterTest {
+
+    @Test
+    void testCountKmers() {
+        final KmerCounter counter = new KmerCounter(3, false, 2);
+        counter.add("ACGTACGTNACG");
+        assertEquals(7, counter.getTotalCount());
+        assertEquals(4, counter.getDistinctCount());
+        assertEquals(3, counter.getCount("ACG"));
+        assertEquals(0, counter.getCount("CGA"));
+        assertEquals(List.of(new KmerCounter.KmerCount("ACG", 3), new KmerCounter.KmerCount("CGT", 2)),
+                counter.top(2));
+        assertArrayEquals(new long[]{0, 2, 1, 1}, counter.spectrum(3));
+    }
+
+    @Test
+    void testCountCanonicalKmers() {
+        final KmerCounter counter = new KmerCounter(3, true, 3);
+        counter.add("AAAtttGGG");
+        assertEquals(2, counter.getCount("AAA"));
+        assertEquals(2, counter.getCount("TTT"));
+        assertEquals(2, counter.getCount("ATT"));
+        assertEquals(1, counter.getCount("GGG"));
+    }
+
+    @Test
+    void testKmersDoNotSpanRecords() throws IOException {
+        final KmerCounter counter = new KmerCounter(2, false, 1);
+        counter.count(Channels.newChannel(new ByteArrayInputStream(">a\nAC\n>b\nGT\n".getBytes())));
+        assertEquals(2, counter.getTotalCount());
+        assertEquals(0, counter.getCount("CG"));
+    }
+
+    @Test
+    void testBatchBorders() {
+        final String sequence = randomSequence(5000, 30);
+        for (int k : new int[]{1, 3, 7, 31}) {
+            for (boolean canonical : new boolean[]{false, true}) {
+                final Map<String, Integer> expected = naiveCounts(sequence, k, canonical);
+                for (int batchSize : new int[]{k, k + 1, 64, 1021, 6000}) {
+                    final KmerCounter counter = new KmerCounter(k, canonical, 3, batchSize);
+                    counter.add(sequence);
+                    assertCounts(expected, counter, k, canonical);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLargeInput() throws IOException {
+        final String sequence = randomSequence(KmerCounter.BATCH_SIZE + 300_000, 31);
+        final String fasta = ">a\n" + sequence.substring(0, KmerCounter.BATCH_SIZE - 2)
+                + "\n>b\n" + sequence.substring(KmerCounter.BATCH_SIZE - 2) + "\n";
+        final Map<String, Integer> expected = naiveCounts(sequence.substring(0, KmerCounter.BATCH_SIZE - 2), 6, true);
+        naiveCounts(sequence.substring(KmerCounter.BATCH_SIZE - 2), 6, true).forEach(
+                (kmer, count) -> expected.merge(kmer, count, Integer::sum));
+        final KmerCounter counter = new KmerCounter(6, true, 2);
+        counter.count(Channels.newChannel(new ByteArrayInputStream(fasta.getBytes())));
+        assertCounts(expected, counter, 6, true);
+    }
+
+    @Test
+    void testDecode() {
+        assertEquals("ACGT", KmerCounter.decode(0b00011011, 4));
+        assertEquals(0b00011011, KmerCounter.reverseComplement(0b00011011, 4));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new KmerCounter(32, false));
+        final IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> new KmerCounter(3, false).getCount("AC"));
+        assertEquals("K-mer length must be 3.", iae.getMessage());
+    }
+
+    /**
+     * Compares every possible k-mer for small k, so the k-mers missing from the expected counts are checked as well.
+     */
+    private static void assertCounts(Map<String, Integer> expected, KmerCounter counter, int k, boolean canonical) {
+        assertEquals(expected.values().stream().mapToLong(Integer::longValue).sum(), counter.getTotalCount());
+        assertEquals(expected.size(), counter.getDistinctCount());
+        if (k <= 7) {
+            for (long code = 0; code < 1L << 2 * k; code++) {
+                final String kmer = KmerCounter.decode(code, k);
+                assertEquals(expected.getOrDefault(keyOf(kmer, canonical), 0), counter.getCount(kmer), kmer);
+            }
+        } else {
+            expected.forEach((kmer, count) -> assertEquals(count, counter.getCount(kmer), kmer));
+        }
+    }
+
+    private static Map<String, Integer> naiveCounts(String sequence, int k, boolean canonical) {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i + k <= sequence.length(); i++) {
+            final String kmer = sequence.substring(i, i + k).toUpperCase();
+            if (kmer.indexOf('N') < 0) {
+                counts.merge(keyOf(kmer, canonical), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * The A < C < G < T order of the strings is the order of the 2-bit codes, so the smaller one is the canonical form.
+     */
+    private static String keyOf(String kmer, boolean canonical) {
+        final String reverseComplement = reverseComplement(kmer);
+        return canonical && reverseComplement.compareTo(kmer) < 0 ? reverseComplement : kmer;
+    }
+
+    private static String reverseComplement(String kmer) {
+        final StringBuilder reverseComplement = new StringBuilder();
+        for (int i = kmer.length() - 1; i >= 0; i--) {
+            reverseComplement.append("TGCA".charAt("ACGT".indexOf(kmer.charAt(i))));
+        }
+        return reverseComplement.toString();
+    }
+
+    /**
+     * Generates a sequence with mixed case and a few N symbols.
+     */
+    private static String randomSequence(int length, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            final int symbol = random.nextInt(81);
+            sequence.append(symbol == 80 ? 'N' : "ACGTacgt".charAt(symbol % 8));
+        }
+        return sequence.toString();
+    }
+}
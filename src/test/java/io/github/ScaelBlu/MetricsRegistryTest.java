@@ -0,0 +1,97 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class MetricsRegistryTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0",
+            "31, 31",
+            "33, 32",
+            "64, 64",
+            "1000, 992"
+    })
+    void testHistogramBucketLowerBound(long value, long expectedLowerBound) {
+        assertEquals(expectedLowerBound, LatencyHistogram.lowerBoundOf(LatencyHistogram.indexOf(value)));
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMean());
+        assertEquals(100, histogram.getMax());
+        assertEquals(30, histogram.getValueAtPercentile(30));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testOperationsReportIntoGlobalRegistry(@InputFile("/01-nucleotide-counting.txt") BufferedReader dna) {
+        final MetricsRegistry registry = MetricsRegistry.global();
+        final long calls = registry.counter("countDnaNucleotides.calls").sum();
+        final long bases = registry.counter("countDnaNucleotides.bases").sum();
+        BioUtils.countDnaNucleotides(dna);
+        assertEquals(calls + 1, registry.counter("countDnaNucleotides.calls").sum());
+        assertEquals(bases + 826, registry.counter("countDnaNucleotides.bases").sum());
+        assertTrue(registry.dump().contains("countDnaNucleotides.latency count="));
+    }
+
+    @Test
+    void testOperationsReportAfterReset() {
+        final MetricsRegistry registry = MetricsRegistry.global();
+        BioUtils.findAllMotifs("GATATATGCATATACTT", "ATAT");
+        registry.reset();
+        BioUtils.findAllMotifs("GATATATGCATATACTT", "ATAT");
+        assertEquals(1, registry.counter("findAllMotifs.calls").sum());
+        assertEquals(17, registry.counter("findAllMotifs.bases").sum());
+    }
+
+    @Test
+    void testTranslationReportsBasesRead() {
+        final MetricsRegistry registry = MetricsRegistry.global();
+        final long bases = registry.counter("mRnaTranslator.bases").sum();
+        BioUtils.mRnaTranslator(new BufferedReader(new StringReader("UAUGGCCUGAC")), OpenReadingFrame.SECOND,
+                GeneticCodeType.UNIVERSAL, false);
+        assertEquals(bases + 11, registry.counter("mRnaTranslator.bases").sum());
+        // the translation stops at UAA, so the last two bases are not read
+        BioUtils.mRnaTranslator(new BufferedReader(new StringReader("AUGGCCUAAGG")), OpenReadingFrame.FIRST,
+                GeneticCodeType.UNIVERSAL, true);
+        assertEquals(bases + 20, registry.counter("mRnaTranslator.bases").sum());
+    }
+
+    @Test
+    void testOperationsEmitEventsWhileRecording(@TempDir Path tempDir) throws IOException {
+        final Path dump = tempDir.resolve("operations.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.ScaelBlu.SequenceOperation");
+            recording.start();
+            BioUtils.findAllMotifs("GATATATGCATATACTT", "ATAT");
+            recording.stop();
+            recording.dump(dump);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertTrue(events.stream().anyMatch(event -> event.getString("operation").equals("findAllMotifs")
+                && event.getLong("bases") == 17));
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class MotifScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testMappedFile(@InputFile("/09-sequence-and-motif-to-find.txt") String input,
+                        @InputFile("/09-sequence-and-motif-to-find.txt") BufferedReader reader) throws IOException {
+        final long[] expected = BioUtils.findAllMotifs(reader).stream().mapToLong(Integer::longValue).toArray();
+        assertArrayEquals(expected, MotifScanner.findAllMotifs(Files.writeString(tempDir.resolve("input.txt"), input)));
+        assertArrayEquals(expected, MotifScanner.findAllMotifs(
+                Files.writeString(tempDir.resolve("crlf.txt"), input.replace("\n", "\r\n"))));
+        assertArrayEquals(expected, MotifScanner.findAllMotifs(
+                Files.writeString(tempDir.resolve("sequence.txt"), input.lines().findFirst().orElseThrow() + "\n"),
+                input.lines().skip(1).findFirst().orElseThrow()));
+    }
+
+    @Test
+    void testChunkBorders() {
+        final MemorySegment sequence = MemorySegment.ofArray("GATATATGCATATACTT".getBytes(StandardCharsets.US_ASCII));
+        final byte[] motif = "ATAT".getBytes(StandardCharsets.US_ASCII);
+        for (long chunkSize = 1; chunkSize <= 20; chunkSize++) {
+            assertArrayEquals(new long[]{2, 4, 10}, MotifScanner.findAllMotifs(sequence, motif, chunkSize));
+        }
+        assertArrayEquals(new long[0], MotifScanner.findAllMotifs(sequence, new byte[20], 4));
+    }
+
+    @Test
+    void testLargeSequence() {
+        final SplittableRandom random = new SplittableRandom(36);
+        final byte[] bases = new byte[3_000_000];
+        for (int i = 0; i < bases.length; i++) {
+            bases[i] = (byte) "ACGT".charAt(random.nextInt(4));
+        }
+        final SequenceSlice sequence = SequenceSlice.of(bases);
+        // a serial search independent of the scanner, counting the overlapping occurrences as well
+        final String text = new String(bases, StandardCharsets.US_ASCII);
+        final LongList positions = new LongList();
+        for (int i = text.indexOf("ACGTAC"); i >= 0; i = text.indexOf("ACGTAC", i + 1)) {
+            positions.add(i + 1);
+        }
+        final long[] expected = positions.toArray();
+        assertTrue(expected.length > 100);
+        assertArrayEquals(expected, MotifScanner.findAllMotifs(sequence, "ACGTAC"));
+        assertArrayEquals(expected, BioUtils.findAllMotifs(sequence, "ACGTAC"));
+        for (long chunkSize : new long[]{7, 4096, 99_991, 3_000_000}) {
+            assertArrayEquals(expected, MotifScanner.findAllMotifs(sequence.segment(),
+                    "ACGTAC".getBytes(StandardCharsets.US_ASCII), chunkSize));
+        }
+    }
+
+    @Test
+    void testMissingMotif() throws IOException {
+        final Path input = Files.writeString(tempDir.resolve("input.txt"), "ACGT\n");
+        assertThrows(IllegalArgumentException.class, () -> MotifScanner.findAllMotifs(input));
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PalindromeScannerTest {
+
+    private static final PalindromeScanner.Enzyme ECO_RI = new PalindromeScanner.Enzyme("EcoRI", "GAATTC");
+
+    private static final PalindromeScanner.Enzyme HIND_III = new PalindromeScanner.Enzyme("HindIII", "AAGCTT");
+
+    private static final PalindromeScanner.Enzyme ALU_I = new PalindromeScanner.Enzyme("AluI", "AGCT");
+
+    private static final PalindromeScanner.Enzyme NOT_I = new PalindromeScanner.Enzyme("NotI", "gcggccgc");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testChunkBorders() {
+        final String sequence = randomSequence(2000, 11);
+        final MemorySegment segment = MemorySegment.ofArray(sequence.getBytes(StandardCharsets.US_ASCII));
+        final List<PalindromeScanner.Site> expected = naivePalindromes(sequence, 4, 12);
+        assertFalse(expected.isEmpty());
+        for (long chunkSize : new long[]{1, 2, 3, 5, 17, 100, 1999, 4096}) {
+            assertEquals(expected, PalindromeScanner.findReversePalindromes(segment, 4, 12, chunkSize));
+        }
+        assertEquals(naivePalindromes(sequence, 3, 7), PalindromeScanner.findReversePalindromes(segment, 3, 7, 64));
+        assertEquals(List.of(), PalindromeScanner.findReversePalindromes(MemorySegment.ofArray(new byte[1]), 4, 12, 1));
+        assertThrows(IllegalArgumentException.class, () -> PalindromeScanner.findReversePalindromes(segment, 1, 12, 1));
+        assertThrows(IllegalArgumentException.class, () -> PalindromeScanner.findReversePalindromes(segment, 6, 4, 1));
+    }
+
+    @Test
+    void testRestrictionSites() {
+        final MemorySegment segment = MemorySegment.ofArray(
+                "GAATTCNaagcttTTGCGGCCGCAGCT".getBytes(StandardCharsets.US_ASCII));
+        final List<PalindromeScanner.Enzyme> enzymes = List.of(ECO_RI, HIND_III, ALU_I, NOT_I);
+        final List<PalindromeScanner.Match> expected = List.of(new PalindromeScanner.Match(ECO_RI, 1),
+                new PalindromeScanner.Match(HIND_III, 8), new PalindromeScanner.Match(ALU_I, 9),
+                new PalindromeScanner.Match(NOT_I, 16), new PalindromeScanner.Match(ALU_I, 24));
+        for (long chunkSize = 1; chunkSize <= 30; chunkSize++) {
+            assertEquals(expected, PalindromeScanner.findRestrictionSites(segment, enzymes, chunkSize));
+        }
+        assertEquals("GCGGCCGC", NOT_I.site());
+        assertThrows(IllegalArgumentException.class, () -> new PalindromeScanner.Enzyme("BsaI", "GGTCTC"));
+        assertThrows(IllegalArgumentException.class, () -> new PalindromeScanner.Enzyme("Odd", "GAATC"));
+        assertThrows(IllegalArgumentException.class, () -> new PalindromeScanner.Enzyme("Ambiguous", "GANTC"));
+    }
+
+    @Test
+    void testMappedFile() throws IOException {
+        final String sequence = randomSequence(3000, 5);
+        final Path input = Files.writeString(tempDir.resolve("sequence.txt"), sequence + "\r\n");
+        assertEquals(naivePalindromes(sequence, 4, 12), PalindromeScanner.findReversePalindromes(input, 4, 12));
+        final List<PalindromeScanner.Match> matches = PalindromeScanner.findRestrictionSites(input, List.of(ALU_I));
+        assertEquals(naivePalindromes(sequence, 4, 4).stream()
+                        .filter(site -> sequence.substring((int) site.position() - 1, (int) site.position() + 3)
+                                .equalsIgnoreCase("AGCT"))
+                        .map(site -> new PalindromeScanner.Match(ALU_I, site.position()))
+                        .toList(),
+                matches);
+    }
+
+    /**
+     * Generates a sequence with mixed case and a few N symbols.
+     */
+    private static String randomSequence(int length, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            final int symbol = random.nextInt(41);
+            sequence.append(symbol == 40 ? "N" : "ACGTacgt".substring(symbol % 8, symbol % 8 + 1));
+        }
+        return sequence.toString();
+    }
+
+    private static List<PalindromeScanner.Site> naivePalindromes(String sequence, int minLength, int maxLength) {
+        final String upper = sequence.toUpperCase();
+        final List<PalindromeScanner.Site> sites = new ArrayList<>();
+        for (int start = 0; start < upper.length(); start++) {
+            for (int length = minLength; length <= maxLength && start + length <= upper.length(); length++) {
+                final String candidate = upper.substring(start, start + length);
+                final StringBuilder reverseComplement = new StringBuilder();
+                for (int i = candidate.length() - 1; i >= 0; i--) {
+                    reverseComplement.append((char) Alphabet.DNA.complement(candidate.charAt(i)));
+                }
+                if (!candidate.contains("N") && candidate.contentEquals(reverseComplement)) {
+                    sites.add(new PalindromeScanner.Site(start + 1, length));
+                }
+            }
+        }
+        return sites;
+    }
+}
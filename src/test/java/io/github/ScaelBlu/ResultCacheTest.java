@@ -0,0 +1,89 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class ResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testHash() {
+        assertEquals(0xEF46DB3751D8E999L, XxHash64.hash(new byte[0]));
+        assertEquals(0xD24EC4F1A98C6E5BL, XxHash64.hash("a".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(0x44BC2CF5AD770999L, XxHash64.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+        final byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        final XxHash64 incremental = new XxHash64(0);
+        for (int offset = 0; offset < data.length; offset += 7) {
+            incremental.update(data, offset, Math.min(7, data.length - offset));
+        }
+        assertEquals(XxHash64.hash(data), incremental.digest());
+    }
+
+    @Test
+    void testTiers(@InputFile("/10-fasta-sequences.fasta") String fasta,
+                   @InputFile("/10-expected-output.txt") String expected) throws IOException {
+        final Path input = Files.writeString(tempDir.resolve("input.fasta"), fasta);
+        final Path directory = tempDir.resolve("cache");
+        final ResultCache cache = new ResultCache(directory, 1 << 20, 8);
+        assertEquals(expected, cache.createConsensusSequence(input));
+        assertEquals(expected, cache.createConsensusSequence(input));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getMemoryHits());
+
+        final ResultCache reopened = new ResultCache(directory, 1 << 20, 8);
+        final Path copy = Files.copy(input, tempDir.resolve("copy.fasta"));
+        assertEquals(expected, reopened.createConsensusSequence(copy));
+        assertEquals(1, reopened.getDiskHits());
+        assertEquals(0, reopened.getMisses());
+        assertTrue(reopened.getDiskBytes() > 0);
+    }
+
+    @Test
+    void testKeys(@InputFile("/08-mRNA-to-translate.txt") String mRna) throws IOException {
+        final Path input = Files.writeString(tempDir.resolve("mRNA.txt"), mRna);
+        final ResultCache cache = new ResultCache(tempDir.resolve("cache"), 1 << 20, 8);
+        final String first = cache.mRnaTranslator(input, OpenReadingFrame.FIRST, GeneticCodeType.UNIVERSAL, false);
+        final String second = cache.mRnaTranslator(input, OpenReadingFrame.SECOND, GeneticCodeType.UNIVERSAL, false);
+        assertNotEquals(first, second);
+        assertEquals(2, cache.getMisses());
+
+        Files.writeString(input, "AUGGCC\n");
+        Files.setLastModifiedTime(input, FileTime.fromMillis(0));
+        assertEquals("MA", cache.mRnaTranslator(input, OpenReadingFrame.FIRST, GeneticCodeType.UNIVERSAL, false));
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    void testEviction() throws IOException {
+        final Path directory = tempDir.resolve("cache");
+        final ResultCache cache = new ResultCache(directory, 25, 0);
+        final Path input = Files.writeString(tempDir.resolve("input.txt"), "GATATATGCATATACTT\nATAT\n");
+        for (int i = 0; i < 5; i++) {
+            final int index = i;
+            assertEquals("result-" + i, cache.get(input, "test", _ -> "result-" + index, i));
+        }
+        assertTrue(cache.getDiskBytes() <= 25);
+        try (Stream<Path> entries = Files.list(directory)) {
+            assertEquals(3, entries.count());
+        }
+        assertEquals("result-4", cache.get(input, "test", _ -> fail("evicted"), 4));
+        assertEquals(List.of(2, 4, 10), cache.findAllMotifs(input));
+    }
+}
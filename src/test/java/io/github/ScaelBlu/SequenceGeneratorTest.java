@@ -0,0 +1,140 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDeterminism() throws Exception {
+        final SequenceGenerator generator = generator(42);
+        final Path serial = tempDir.resolve("serial.fasta");
+        final Path parallel = tempDir.resolve("parallel.fasta");
+        try (ForkJoinPool one = new ForkJoinPool(1); ForkJoinPool four = new ForkJoinPool(4)) {
+            one.submit(() -> {
+                generator.writeFasta(serial, 2000);
+                return null;
+            }).get();
+            four.submit(() -> {
+                generator.writeFasta(parallel, 2000);
+                return null;
+            }).get();
+        }
+        assertArrayEquals(Files.readAllBytes(serial), Files.readAllBytes(parallel));
+
+        final List<String> lines = Files.readAllLines(serial);
+        assertEquals(">Synthetic_1", lines.getFirst());
+        assertEquals(2000, lines.stream().filter(line -> line.startsWith(">")).count());
+        assertTrue(lines.stream().allMatch(line -> line.startsWith(">") || line.length() <= 60 && !line.isEmpty()));
+
+        final Path other = tempDir.resolve("other.fasta");
+        generator(43).writeFasta(other, 2000);
+        assertFalse(Arrays.equals(Files.readAllBytes(serial), Files.readAllBytes(other)));
+    }
+
+    @Test
+    void testFastq() throws IOException {
+        final Path fastq = tempDir.resolve("reads.fastq");
+        new SequenceGenerator(7).gcContent(0.7).lengths(150, 150, SequenceGenerator.LengthDistribution.UNIFORM)
+                .writeFastq(fastq, 1000);
+        final List<String> lines = Files.readAllLines(fastq);
+        assertEquals(4000, lines.size());
+        long gc = 0;
+        for (int i = 0; i < lines.size(); i += 4) {
+            assertEquals("@Synthetic_" + (i / 4 + 1), lines.get(i));
+            assertEquals("+", lines.get(i + 2));
+            assertEquals(150, lines.get(i + 1).length());
+            assertEquals(150, lines.get(i + 3).length());
+            gc += lines.get(i + 1).chars().filter(base -> base == 'G' || base == 'C').count();
+            assertTrue(lines.get(i + 3).chars().allMatch(quality -> quality >= '+' && quality <= 'I'));
+        }
+        assertEquals(0.7, gc / 150_000.0, 0.01);
+    }
+
+    @Test
+    void testEmptyRecords() throws IOException {
+        final Path empty = tempDir.resolve("empty.fastq");
+        new SequenceGenerator(5).lengths(0, 0, SequenceGenerator.LengthDistribution.UNIFORM).writeFastq(empty, 2);
+        assertEquals("@Synthetic_1\n\n+\n\n@Synthetic_2\n\n+\n\n", Files.readString(empty));
+
+        for (boolean fastq : new boolean[]{true, false}) {
+            final Path input = tempDir.resolve(fastq ? "reads.fastq" : "reads.fasta");
+            final SequenceGenerator generator = new SequenceGenerator(5)
+                    .lengths(0, 3, SequenceGenerator.LengthDistribution.UNIFORM)
+                    .lineWidth(2);
+            if (fastq) {
+                generator.writeFastq(input, 500);
+            } else {
+                generator.writeFasta(input, 500);
+            }
+            final byte[] bytes = Files.readAllBytes(input);
+            for (byte symbol : bytes) {
+                assertNotEquals(0, symbol);
+            }
+            int records = 0;
+            int emptyRecords = 0;
+            try (SequenceReader reader = new SequenceReader(Files.newByteChannel(input))) {
+                while (reader.next()) {
+                    final SequenceRecord record = reader.getRecord();
+                    assertEquals("Synthetic_" + ++records, record.getHeader().toString());
+                    assertTrue(record.getSequence().length() <= 3);
+                    if (fastq) {
+                        assertEquals(record.getSequence().length(), record.getQuality().length());
+                    }
+                    if (record.getSequence().isEmpty()) {
+                        emptyRecords++;
+                    }
+                }
+            }
+            assertEquals(500, records);
+            assertTrue(emptyRecords > 0);
+        }
+    }
+
+    @Test
+    void testMotifInput() throws IOException {
+        final Path input = tempDir.resolve("motif.txt");
+        new SequenceGenerator(1).motif("ACGTTGCAACGTTGCAACGT", 5).writeMotifInput(input, 3_500_000);
+        final long[] positions = MotifScanner.findAllMotifs(input);
+        assertEquals(5, positions.length);
+        try (BufferedReader reader = Files.newBufferedReader(input)) {
+            assertEquals(Arrays.stream(positions).boxed().toList(),
+                    BioUtils.findAllMotifs(reader).stream().map(Integer::longValue).toList());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SequenceGenerator(1).writeMotifInput(input, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SequenceGenerator(1).motif("ACGU", 1));
+    }
+
+    @Test
+    void testHammingInput() throws IOException {
+        final Path input = tempDir.resolve("hamming.txt");
+        new SequenceGenerator(3).mutationRate(0.01).writeHammingInput(input, 2_200_000);
+        assertEquals(2 * 2_200_001, Files.size(input));
+        try (BufferedReader reader = Files.newBufferedReader(input)) {
+            assertEquals(22_000, BioUtils.countPointMutations(reader), 500);
+        }
+        new SequenceGenerator(3).writeHammingInput(input, 1000);
+        try (BufferedReader reader = Files.newBufferedReader(input)) {
+            assertEquals(0, BioUtils.countPointMutations(reader));
+        }
+    }
+
+    private static SequenceGenerator generator(long seed) {
+        return new SequenceGenerator(seed)
+                .lengths(100, 3000, SequenceGenerator.LengthDistribution.NORMAL)
+                .motif("GATTACA", 1);
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class SequenceInputsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPlainInput(@InputFile("/10-expected-output.txt") String expected) throws IOException {
+        final Path fasta = copyResource("/10-fasta-sequences.fasta");
+        assertEquals(SequenceInputs.Compression.NONE, SequenceInputs.detectCompression(fasta));
+        try (ReadableByteChannel channel = SequenceInputs.open(fasta)) {
+            assertEquals(expected, BioUtils.createConsensusSequence(channel));
+        }
+    }
+
+    @Test
+    void testGzipInput(@InputFile("/10-expected-output.txt") String expected) throws IOException {
+        final Path fasta = tempDir.resolve("sequences.fasta.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(fasta))) {
+            out.write(readResource("/10-fasta-sequences.fasta"));
+        }
+        assertEquals(SequenceInputs.Compression.GZIP, SequenceInputs.detectCompression(fasta));
+        try (ReadableByteChannel channel = SequenceInputs.open(fasta)) {
+            assertEquals(expected, BioUtils.createConsensusSequence(channel));
+        }
+    }
+
+    @Test
+    void testBgzfInput(@InputFile("/10-expected-output.txt") String expected) throws IOException {
+        final Path fasta = tempDir.resolve("sequences.fasta.bgz");
+        writeBgzf(readResource("/10-fasta-sequences.fasta"), fasta, 100);
+        assertEquals(SequenceInputs.Compression.BGZF, SequenceInputs.detectCompression(fasta));
+        try (ReadableByteChannel channel = SequenceInputs.open(fasta)) {
+            assertEquals(expected, BioUtils.createConsensusSequence(channel));
+        }
+    }
+
+    @Test
+    void testCompressedReader(@InputFile("/05-expected.txt") String expected) throws IOException {
+        final Path fasta = tempDir.resolve("sample.fasta.bgz");
+        writeBgzf(readResource("/05-rosalind-sample1.fasta"), fasta, 65280);
+        assertEquals(expected, BioUtils.findHighestGcContent(SequenceInputs.openReader(fasta)));
+    }
+
+    @Test
+    void testMalformedExtraField() throws IOException {
+        final byte[] valid = bgzfBlock("ACGT\n".getBytes());
+        // a BC subfield without its block size, and a subfield running past the extra field
+        for (byte[] extra : new byte[][]{{'B', 'C', 2, 0}, {'X', 'Y', 10, 0, 0, 0}}) {
+            final Path fasta = tempDir.resolve("malformed.fasta.bgz");
+            final ByteBuffer block = ByteBuffer.allocate(12 + extra.length + 32).order(ByteOrder.LITTLE_ENDIAN);
+            block.put((byte) 0x1f).put((byte) 0x8b).put((byte) 8).put((byte) 4).putInt(0).put((byte) 0)
+                    .put((byte) 0xff).putShort((short) extra.length).put(extra);
+            try (OutputStream out = Files.newOutputStream(fasta)) {
+                out.write(valid);
+                out.write(block.array());
+            }
+            try (ReadableByteChannel channel = SequenceInputs.open(fasta)) {
+                final ByteBuffer target = ByteBuffer.allocate(64);
+                assertThrows(IOException.class, () -> {
+                    while (channel.read(target.clear()) != -1) {
+                        // drains the channel
+                    }
+                });
+            }
+        }
+    }
+
+    private Path copyResource(String name) throws IOException {
+        final Path path = tempDir.resolve(name.substring(1));
+        Files.write(path, readResource(name));
+        return path;
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(name)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Writes the content as BGZF blocks of the given size followed by the empty end-of-file block.
+     */
+    private static void writeBgzf(byte[] content, Path path, int blockSize) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (int i = 0; i < content.length; i += blockSize) {
+                out.write(bgzfBlock(Arrays.copyOfRange(content, i, Math.min(content.length, i + blockSize))));
+            }
+            out.write(bgzfBlock(new byte[0]));
+        }
+    }
+
+    private static byte[] bgzfBlock(byte[] data) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+        final byte[] compressed = new byte[data.length + 64];
+        final int compressedLength = deflater.deflate(compressed);
+        deflater.end();
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        final ByteBuffer block = ByteBuffer.allocate(18 + compressedLength + 8).order(ByteOrder.LITTLE_ENDIAN);
+        block.put((byte) 0x1f).put((byte) 0x8b).put((byte) 8).put((byte) 4).putInt(0).put((byte) 0).put((byte) 0xff)
+                .putShort((short) 6).put((byte) 'B').put((byte) 'C').putShort((short) 2)
+                .putShort((short) (block.capacity() - 1))
+                .put(compressed, 0, compressedLength)
+                .putInt((int) crc.getValue()).putInt(data.length);
+        return block.array();
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class SequencePipelineTest {
+
+    @Test
+    void testTranscribe(@InputFile("/02-transcribe-dna-to-rna.txt") String dna,
+                        @InputFile("/02-expected.txt") String rna) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            assertEquals(rna.strip(), SequencePipeline.of(channel(dna), executor, 7, 2)
+                    .transcribe()
+                    .collect()
+                    .join());
+        }
+    }
+
+    @Test
+    void testTranslate(@InputFile("/08-mRNA-to-translate.txt") String mRna,
+                       @InputFile("/08-protein-sequence.txt") String protein) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertEquals(protein.strip(), SequencePipeline.of(channel(mRna), executor, 100, 4)
+                    .translate(OpenReadingFrame.FIRST, GeneticCodeType.UNIVERSAL, true)
+                    .collect()
+                    .join());
+            assertEquals(BioUtils.mRnaTranslator(new BufferedReader(new StringReader(mRna)), OpenReadingFrame.SECOND,
+                            GeneticCodeType.UNIVERSAL, false),
+                    SequencePipeline.of(channel(mRna), executor, 100, 4)
+                            .translate(OpenReadingFrame.SECOND, GeneticCodeType.UNIVERSAL, false)
+                            .collect()
+                            .join());
+        }
+    }
+
+    @Test
+    void testChainedStages() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final SequencePipeline pipeline = SequencePipeline.of(channel("ATGAAA\nATGAAATAAATG\n"), executor, 2, 1)
+                    .transcribe()
+                    .translate(OpenReadingFrame.FIRST, GeneticCodeType.UNIVERSAL, true);
+            assertArrayEquals(new long[]{1, 3}, pipeline.findMotif("MK").join());
+            assertThrows(IllegalStateException.class, pipeline::collect);
+        }
+    }
+
+    @Test
+    void testMotifsAcrossChunks() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int chunkSize = 1; chunkSize <= 17; chunkSize++) {
+                assertArrayEquals(new long[]{2, 4, 10},
+                        SequencePipeline.of(channel("GATATATGCATATACTT"), executor, chunkSize, 2)
+                                .findMotif("ATAT").join());
+            }
+        }
+    }
+
+    @Test
+    void testCountDnaNucleotides(@InputFile("/01-nucleotide-counting.txt") String dna) {
+        assertEquals(BioUtils.countDnaNucleotides(new BufferedReader(new StringReader(dna))),
+                SequencePipeline.of(channel(dna)).countDnaNucleotides().join());
+    }
+
+    @Test
+    void testInvalidSymbol() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final CompletionException ce = assertThrows(CompletionException.class,
+                    () -> SequencePipeline.of(channel("ACG\nXT"), executor, 2, 1)
+                            .transcribe()
+                            .collect()
+                            .join());
+            assertEquals("Invalid nucleotide: X at pos: 3", ce.getCause().getMessage());
+        }
+    }
+
+    private static ReadableByteChannel channel(String sequence) {
+        return Channels.newChannel(new ByteArrayInputStream(sequence.getBytes()));
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class SequenceReaderTest {
+
+    private static final String FASTA = "\n>seq1 desc\r\nACGT\r\nacgt \r\n\n>seq2\nGG\nCC\n>empty\n>last\nTTT";
+
+    private static final String FASTQ = "@r1\nACGT\n+\n!!@@\n@r2\nAC\nGT\n+r2\n@@\n!!\n";
+
+    @ParameterizedTest(name = "Buffer size: {0}")
+    @ValueSource(ints = {1, 2, 3, 5, 8, 65536})
+    void testFastaRecords(int bufferSize) throws IOException {
+        assertEquals(List.of("seq1 desc|ACGTacgt|", "seq2|GGCC|", "empty||", "last|TTT|"), readAll(FASTA, bufferSize));
+    }
+
+    @ParameterizedTest(name = "Buffer size: {0}")
+    @ValueSource(ints = {1, 2, 3, 5, 8, 65536})
+    void testFastqRecords(int bufferSize) throws IOException {
+        assertEquals(List.of("r1|ACGT|!!@@", "r2|ACGT|@@!!"), readAll(FASTQ, bufferSize));
+    }
+
+    @Test
+    void testReaderAdapter(@InputFile("/10-fasta-sequences.fasta") BufferedReader fasta) throws IOException {
+        try (SequenceReader reader = SequenceReader.of(fasta)) {
+            int records = 0;
+            while (reader.next()) {
+                assertTrue(reader.getRecord().getHeader().toString().startsWith("Rosalind_"));
+                records++;
+            }
+            assertEquals(10, records);
+            assertEquals(SequenceReader.Format.FASTA, reader.getFormat());
+        }
+    }
+
+    @Test
+    void testInvalidInputs() {
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> readAll("ACGT\n", 8));
+        assertEquals("Invalid record start: A", iae.getMessage());
+        iae = assertThrows(IllegalArgumentException.class, () -> readAll("@r\nAC\n+\n!\n", 8));
+        assertEquals("Quality and sequence lengths differ in record: r", iae.getMessage());
+    }
+
+    @Test
+    void testNonLatin1Symbols() throws IOException {
+        try (SequenceReader reader = SequenceReader.of(new StringReader(">\u01411\nAC\u0141T\n"))) {
+            assertTrue(reader.next());
+            assertEquals("?1", reader.getRecord().getHeader().toString());
+            assertEquals("AC?T", reader.getRecord().getSequence().toString());
+        }
+        final IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> BioUtils.createConsensusSequence(
+                        new BufferedReader(new StringReader(">1\nAC\u0141T\n>2\nACGT\n"))));
+        assertEquals("Invalid nucleotide: ? at pos: 2", iae.getMessage());
+    }
+
+    private static List<String> readAll(String input, int bufferSize) throws IOException {
+        final List<String> records = new ArrayList<>();
+        try (SequenceReader reader = new SequenceReader(
+                Channels.newChannel(new ByteArrayInputStream(input.getBytes())), bufferSize)) {
+            while (reader.next()) {
+                final SequenceRecord record = reader.getRecord();
+                records.add("%s|%s|%s".formatted(record.getHeader(), record.getSequence(), record.getQuality()));
+            }
+        }
+        return records;
+    }
+}
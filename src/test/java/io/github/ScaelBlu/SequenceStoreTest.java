@@ -0,0 +1,94 @@
+package io.github.ScaelBlu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InputFileResolver.class)
+class SequenceStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadAndMap(@InputFile("/05-expected.txt") String expected) throws IOException {
+        final Path storeFile = tempDir.resolve("sample.rsq");
+        try (SequenceStore store = SequenceStore.load(resource("/05-rosalind-sample1.fasta"))) {
+            assertEquals(6, store.getRecordCount());
+            assertEquals(5466, store.getTotalBases());
+            assertEquals("Rosalind_9763", store.getHeader(0));
+            assertEquals("225 214 213 187", BioUtils.countDnaNucleotides(store.get(0)));
+            assertEquals(expected, BioUtils.findHighestGcContent(store));
+            store.save(storeFile);
+        }
+        try (SequenceStore store = SequenceStore.map(storeFile)) {
+            assertEquals(6, store.getRecordCount());
+            assertEquals(5466, store.getTotalBases());
+            assertEquals("GACTTACCGC", store.get(0).slice(0, 10).toString());
+            assertEquals(expected, BioUtils.findHighestGcContent(store));
+        }
+    }
+
+    @Test
+    void testSliceRoutines() throws IOException {
+        try (SequenceStore store = SequenceStore.load(channelOf(">a\nGATATATGC\nATATACTT\n>empty\n>b desc\r\nGATTTATGCATATACTA"))) {
+            assertEquals(3, store.getRecordCount());
+            assertEquals(0, store.get(1).length());
+            assertEquals("b desc", store.getHeader(2));
+            assertArrayEquals(new long[]{2, 4, 10}, BioUtils.findAllMotifs(store.get(0), "ATAT"));
+            assertEquals(2, BioUtils.countPointMutations(store.get(0), store.get(2)));
+        }
+    }
+
+    @Test
+    void testMissingHeader() {
+        final IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> SequenceStore.load(channelOf("ACGT\n")));
+        assertEquals("Invalid record start: A", iae.getMessage());
+    }
+
+    @Test
+    void testReaderParity() throws IOException {
+        for (String input : new String[]{
+                "\n>seq1 desc\r\nACGT\r\nacgt \r\n\n>seq2\nGG\nC>C\n>empty\n>last\nTTT",
+                "@r1\nACGT\n+\n!!@@\n@r2\nAC\nGT\n+r2\n@@\n!!\n", ">only header", ""}) {
+            try (SequenceStore store = SequenceStore.load(channelOf(input));
+                 SequenceReader reader = new SequenceReader(channelOf(input))) {
+                int record = 0;
+                while (reader.next()) {
+                    assertEquals(reader.getRecord().getHeader().toString(), store.getHeader(record));
+                    assertEquals(reader.getRecord().getSequence().toString(), store.get(record).toString());
+                    record++;
+                }
+                assertEquals(record, store.getRecordCount());
+            }
+        }
+        for (String input : new String[]{"ACGT\n", "@r\nAC\n+\n!!\n>a\nAC\n", "@r\nAC\n+\n!\n"}) {
+            final IllegalArgumentException expected = assertThrows(IllegalArgumentException.class, () -> {
+                try (SequenceReader reader = new SequenceReader(channelOf(input))) {
+                    while (reader.next()) {
+                        // reads up to the invalid record
+                    }
+                }
+            });
+            assertEquals(expected.getMessage(), assertThrows(IllegalArgumentException.class,
+                    () -> SequenceStore.load(channelOf(input))).getMessage());
+        }
+    }
+
+    private ReadableByteChannel resource(String name) {
+        return Channels.newChannel(getClass().getResourceAsStream(name));
+    }
+
+    private static ReadableByteChannel channelOf(String content) {
+        return Channels.newChannel(new ByteArrayInputStream(content.getBytes()));
+    }
+}